@@ -0,0 +1,80 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.models.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Detached entities shaped like the ones the services load, for benchmarks that must not
+ * touch a database.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDate WEEK_START = LocalDate.of(2025, 1, 6).with(DayOfWeek.MONDAY);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Employee manager() {
+        return employee(1L, "manager", Role.MANAGER, null);
+    }
+
+    static Employee employee(long id, String username, Role role, Employee manager) {
+        return Employee.builder()
+                .id(id)
+                .employeeId(String.format("EMP-20250101-%04d", id))
+                .username(username)
+                .email(username + "@company.com")
+                .password("$2a$12$abcdefghijklmnopqrstuv0123456789abcdefghijklmnopqrstu")
+                .firstName("Bench")
+                .lastName("Mark " + id)
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .hireDate(LocalDate.of(2024, 1, 1))
+                .role(role)
+                .manager(manager)
+                .isFirstLogin(false)
+                .isActive(true)
+                .version(3L)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .build();
+    }
+
+    static PayInfo payInfo(Employee employee, boolean hourly) {
+        return PayInfo.builder()
+                .employee(employee)
+                .salary(new BigDecimal("85000.00"))
+                .hourlyRate(hourly ? new BigDecimal("42.50") : null)
+                .payFrequency(PayFrequency.MONTHLY)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .build();
+    }
+
+    // Approved week with five eight-hour days, as in a manager's review queue
+    static Timesheet approvedTimesheet(long id, Employee owner, Employee reviewer) {
+        Timesheet timesheet = Timesheet.builder()
+                .id(id)
+                .employee(owner)
+                .weekStartDate(WEEK_START)
+                .weekEndDate(WEEK_START.plusDays(6))
+                .version(2L)
+                .createdAt(LocalDateTime.of(2025, 1, 6, 9, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 13, 9, 0))
+                .build();
+        for (int day = 0; day < 5; day++) {
+            timesheet.addEntry(TimesheetEntry.builder()
+                    .id(id * 10 + day)
+                    .workDate(WEEK_START.plusDays(day))
+                    .hoursWorked(new BigDecimal("8.00"))
+                    .description("Project work")
+                    .build());
+        }
+        timesheet.calculateTotalHours();
+        timesheet.submit();
+        timesheet.approve(reviewer);
+        return timesheet;
+    }
+}
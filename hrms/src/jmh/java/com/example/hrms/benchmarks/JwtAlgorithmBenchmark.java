@@ -0,0 +1,72 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.config.JwtKey;
+import com.example.hrms.config.JwtProperties;
+import com.example.hrms.config.JwtTokenCodec;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verifying access tokens with each algorithm {@link JwtTokenCodec} supports:
+ * HS512 with a shared secret and ES256 with a P-256 key pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"HS512", "ES256"})
+    private String algorithm;
+
+    private final Map<String, Object> claims = Map.of("roles", "ROLE_EMPLOYEE");
+
+    private JwtTokenCodec codec;
+    private String token;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer("employee-management-system");
+        codec = new JwtTokenCodec(properties);
+
+        JwtKey key;
+        if ("ES256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            key = JwtKey.es256("bench-es", pair.getPrivate(), pair.getPublic());
+        } else {
+            key = JwtKey.hmac("bench-hs", SECRET);
+        }
+        codec.rotate(List.of(key), key.id());
+
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        return codec.sign(claims, "employee", now, new Date(now.getTime() + 900_000));
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return codec.parse(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.config.JwtProperties;
+import com.example.hrms.config.JwtTokenCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenCodec} against the previous token handling, which decoded the secret into a
+ * key and built a new parser on every sign and verify. The codec is benchmarked with three
+ * keys in its ring, as during a rotation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final String ISSUER = "employee-management-system";
+
+    private final Map<String, Object> claims = Map.of("roles", "ROLE_EMPLOYEE");
+
+    private JwtTokenCodec codec;
+    private String codecToken;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer(ISSUER);
+
+        codec = new JwtTokenCodec(properties);
+        codec.rotate(Map.of(
+                "2024-q4", SECRET.replace('0', 'a'),
+                "2025-q1", SECRET.replace('1', 'b'),
+                "2025-q2", SECRET), "2025-q2");
+
+        codecToken = codecSign();
+        legacyToken = legacySign();
+    }
+
+    @Benchmark
+    public String codecSign() {
+        Date now = new Date();
+        return codec.sign(claims, "employee", now, new Date(now.getTime() + 900_000));
+    }
+
+    @Benchmark
+    public Claims codecParse() {
+        return codec.parse(codecToken);
+    }
+
+    @Benchmark
+    public String legacySign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("employee")
+                .setIssuer(ISSUER)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 900_000))
+                .signWith(legacyKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacyKey())
+                .build()
+                .parseClaimsJws(legacyToken)
+                .getBody();
+    }
+
+    // As JwtTokenProvider.getSigningKey() did before the codec
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
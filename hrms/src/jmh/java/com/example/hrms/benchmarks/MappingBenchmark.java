@@ -0,0 +1,53 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.dto.EmployeeResponse;
+import com.example.hrms.dto.TimesheetListResponse;
+import com.example.hrms.dto.TimesheetResponse;
+import com.example.hrms.mappers.EmployeeMapper;
+import com.example.hrms.mappers.TimesheetMapper;
+import com.example.hrms.models.Employee;
+import com.example.hrms.models.Role;
+import com.example.hrms.models.Timesheet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on every timesheet and employee read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final TimesheetMapper timesheetMapper = new TimesheetMapper();
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private Employee employee;
+    private Timesheet timesheet;
+
+    @Setup
+    public void setUp() {
+        Employee manager = BenchmarkFixtures.manager();
+        employee = BenchmarkFixtures.employee(2L, "employee", Role.EMPLOYEE, manager);
+        timesheet = BenchmarkFixtures.approvedTimesheet(1L, employee, manager);
+    }
+
+    @Benchmark
+    public TimesheetResponse timesheetToResponse() {
+        return timesheetMapper.toResponse(timesheet);
+    }
+
+    @Benchmark
+    public TimesheetListResponse timesheetToListResponse() {
+        return timesheetMapper.toListResponse(timesheet);
+    }
+
+    @Benchmark
+    public EmployeeResponse employeeToResponse() {
+        return employeeMapper.toResponse(employee);
+    }
+}
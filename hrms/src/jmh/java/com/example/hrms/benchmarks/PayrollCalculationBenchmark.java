@@ -0,0 +1,90 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.config.PayrollCalculationProperties;
+import com.example.hrms.models.Employee;
+import com.example.hrms.models.Payroll;
+import com.example.hrms.models.Role;
+import com.example.hrms.models.Timesheet;
+import com.example.hrms.services.PayrollCalculator;
+import com.example.hrms.services.PayrollCalculator.PayrollAmounts;
+import com.example.hrms.services.PayrollCalculator.PayrollInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payroll arithmetic behind preview, run and background jobs: one calculation, a batch on the
+ * sequential and the fork-join path, and the full timesheet-to-payroll step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollCalculationBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private PayrollCalculator sequential;
+    private PayrollCalculator parallel;
+    private PayrollInput hourlyInput;
+    private PayrollInput salariedInput;
+    private List<PayrollInput> inputs;
+    private List<Timesheet> timesheets;
+
+    @Setup
+    public void setUp() {
+        PayrollCalculationProperties sequentialProperties = new PayrollCalculationProperties();
+        sequentialProperties.setParallel(false);
+        sequential = new PayrollCalculator(sequentialProperties);
+
+        PayrollCalculationProperties parallelProperties = new PayrollCalculationProperties();
+        parallelProperties.setParallelThreshold(0);
+        parallel = new PayrollCalculator(parallelProperties);
+
+        hourlyInput = new PayrollInput(new BigDecimal("40.00"), new BigDecimal("42.50"), null);
+        salariedInput = new PayrollInput(new BigDecimal("40.00"), null, new BigDecimal("85000.00"));
+
+        Employee manager = BenchmarkFixtures.manager();
+        inputs = new ArrayList<>(batchSize);
+        timesheets = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            inputs.add(i % 2 == 0 ? hourlyInput : salariedInput);
+
+            Employee employee = BenchmarkFixtures.employee(i + 2, "employee" + i, Role.EMPLOYEE, manager);
+            employee.setPayInfo(BenchmarkFixtures.payInfo(employee, i % 2 == 0));
+            timesheets.add(BenchmarkFixtures.approvedTimesheet(i + 1, employee, manager));
+        }
+    }
+
+    @Benchmark
+    public PayrollAmounts calculateHourly() {
+        return sequential.calculate(hourlyInput);
+    }
+
+    @Benchmark
+    public PayrollAmounts calculateFromSalary() {
+        return sequential.calculate(salariedInput);
+    }
+
+    @Benchmark
+    public List<PayrollAmounts> calculateAllSequential() {
+        return sequential.calculateAll(inputs);
+    }
+
+    @Benchmark
+    public List<PayrollAmounts> calculateAllParallel() {
+        return parallel.calculateAll(inputs);
+    }
+
+    @Benchmark
+    public List<Payroll> calculatePayrolls() {
+        return sequential.calculatePayrolls(timesheets, BenchmarkFixtures.WEEK_START,
+                BenchmarkFixtures.WEEK_START.plusDays(6));
+    }
+}
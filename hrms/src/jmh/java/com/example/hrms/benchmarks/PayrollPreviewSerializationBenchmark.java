@@ -0,0 +1,69 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.config.PayrollCalculationProperties;
+import com.example.hrms.dto.PayrollPreviewResponse;
+import com.example.hrms.mappers.PayrollMapper;
+import com.example.hrms.models.Employee;
+import com.example.hrms.models.Role;
+import com.example.hrms.models.Timesheet;
+import com.example.hrms.services.PayrollCalculator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the payroll preview, the largest response the API returns.
+ * The mapper is configured like the application's ({@code spring.jackson.*}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollPreviewSerializationBenchmark {
+
+    @Param({"50", "1000"})
+    private int employeeCount;
+
+    private ObjectMapper objectMapper;
+    private PayrollPreviewResponse preview;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        PayrollCalculationProperties properties = new PayrollCalculationProperties();
+        properties.setParallel(false);
+        PayrollCalculator calculator = new PayrollCalculator(properties);
+
+        Employee manager = BenchmarkFixtures.manager();
+        List<Timesheet> timesheets = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = BenchmarkFixtures.employee(i + 2, "employee" + i, Role.EMPLOYEE, manager);
+            employee.setPayInfo(BenchmarkFixtures.payInfo(employee, true));
+            timesheets.add(BenchmarkFixtures.approvedTimesheet(i + 1, employee, manager));
+        }
+
+        preview = new PayrollMapper().toPreviewResponse(
+                calculator.calculatePayrolls(timesheets, BenchmarkFixtures.WEEK_START,
+                        BenchmarkFixtures.WEEK_START.plusDays(6)),
+                BenchmarkFixtures.WEEK_START, BenchmarkFixtures.WEEK_START.plusDays(6));
+    }
+
+    @Benchmark
+    public byte[] serializePreview() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(preview);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hrms.benchmarks;
+
+import com.example.hrms.config.JwtProperties;
+import com.example.hrms.config.JwtTokenCodec;
+import com.example.hrms.config.JwtTokenProvider;
+import com.example.hrms.utils.EmployeeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token and credential work on login, refresh and every authenticated request.
+ * {@code generateAccessTokenFromUsername} is the public path into {@code createToken}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+        properties.setIssuer("employee-management-system");
+
+        jwtTokenProvider = new JwtTokenProvider(properties, new JwtTokenCodec(properties));
+        accessToken = jwtTokenProvider.generateAccessTokenFromUsername("employee", "ROLE_EMPLOYEE");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.generateAccessTokenFromUsername("employee", "ROLE_EMPLOYEE");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String generateTemporaryPassword() {
+        return EmployeeUtils.generateTemporaryPassword();
+    }
+}
@@ -1,6 +1,17 @@
 package com.example.hrms;
 
+import com.example.hrms.config.EventStreamProperties;
 import com.example.hrms.config.JwtProperties;
+import com.example.hrms.config.OrgChartProperties;
+import com.example.hrms.config.PasswordHashingProperties;
+import com.example.hrms.config.PayrollCalculationProperties;
+import com.example.hrms.config.PayrollJobProperties;
+import com.example.hrms.config.PayrollPreviewProperties;
+import com.example.hrms.config.PinningDiagnosticsProperties;
+import com.example.hrms.config.PrincipalCacheProperties;
+import com.example.hrms.config.RefreshTokenFilterProperties;
+import com.example.hrms.config.RefreshTokenPurgeProperties;
+import com.example.hrms.config.SessionProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -9,7 +20,11 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableJpaRepositories
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, PrincipalCacheProperties.class,
+        PayrollJobProperties.class, PayrollCalculationProperties.class, PayrollPreviewProperties.class,
+        EventStreamProperties.class, PinningDiagnosticsProperties.class,
+        RefreshTokenFilterProperties.class, RefreshTokenPurgeProperties.class,
+        SessionProperties.class, PasswordHashingProperties.class, OrgChartProperties.class})
 @Slf4j
 public class HrmsApplication {
 
@@ -0,0 +1,20 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "events.stream")
+public class EventStreamProperties {
+
+    // Streams are closed after this long; clients reconnect and get a fresh snapshot
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Comment sent to every stream so proxies keep idle connections open and dead ones are noticed
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    // Oldest stream is closed when a user opens more than this many (e.g. browser tabs)
+    private int maxStreamsPerUser = 5;
+}
@@ -0,0 +1,24 @@
+package com.example.hrms.config;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Claims extracted from an access token whose signature has already been verified.
+ */
+@Value
+@Builder
+public class JwtClaims {
+
+    String username;
+
+    String roles;
+
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.hrms.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One JWT key in a {@link JwtTokenCodec} key ring: HS512 with a shared secret, or ES256 with a
+ * P-256 key pair. An ES256 key without a private key can only verify, which is how retired keys
+ * are held.
+ *
+ * @param signingKey      key tokens are signed with, or {@code null} for a verify-only key
+ * @param verificationKey key signatures are checked with
+ */
+public record JwtKey(String id, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+
+    private static final int P256_FIELD_SIZE = 256;
+    private static final int P256_COORDINATE_BYTES = 32;
+
+    public JwtKey {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("JWT key id is required");
+        }
+    }
+
+    /**
+     * HS512 key from a shared secret of at least 64 bytes.
+     */
+    public static JwtKey hmac(String id, String secret) {
+        byte[] bytes = secret != null ? secret.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        // HS512 needs a key of at least 512 bits
+        if (bytes.length < 64) {
+            throw new IllegalArgumentException("JWT key '" + id + "' must be at least 64 bytes");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(bytes);
+        return new JwtKey(id, SignatureAlgorithm.HS512, key, key);
+    }
+
+    /**
+     * ES256 key from PEM (or bare base64 DER) encoded keys: PKCS#8 for the private key and
+     * X.509 SubjectPublicKeyInfo for the public key.
+     *
+     * @param privateKeyPem the private key, or {@code null} for a verify-only key
+     */
+    public static JwtKey es256(String id, String privateKeyPem, String publicKeyPem) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey privateKey = privateKeyPem == null ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem)));
+            return es256(id, privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("JWT key '" + id + "' is not a valid EC key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * ES256 key from a P-256 key pair.
+     *
+     * @param privateKey the private key, or {@code null} for a verify-only key
+     */
+    public static JwtKey es256(String id, PrivateKey privateKey, PublicKey publicKey) {
+        if (!isP256(publicKey) || (privateKey != null && !isP256(privateKey))) {
+            throw new IllegalArgumentException("JWT key '" + id + "' must be an EC P-256 key for ES256");
+        }
+        return new JwtKey(id, SignatureAlgorithm.ES256, privateKey, publicKey);
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    /**
+     * The public half as a JSON Web Key, or empty for a shared-secret key, which is never published.
+     */
+    public Optional<Map<String, Object>> toJwk() {
+        if (!(verificationKey instanceof ECPublicKey publicKey)) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", id);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return Optional.of(jwk);
+    }
+
+    private static boolean isP256(Key key) {
+        return key instanceof ECKey ecKey
+                && ecKey.getParams().getCurve().getField().getFieldSize() == P256_FIELD_SIZE;
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END)[A-Z ]*-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    // Unsigned, left-padded to the curve size (RFC 7518 section 6.2.1.2)
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_BYTES];
+        int length = Math.min(bytes.length, P256_COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, P256_COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
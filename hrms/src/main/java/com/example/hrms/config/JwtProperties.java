@@ -3,12 +3,30 @@ package com.example.hrms.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
 
+    // Signing key, with kid "default", when no keys are listed. Tokens issued without a kid header
+    // are verified with the "default" key and rejected once it is no longer among the keys
     private String secret;
 
+    // Signing keys by kid; tokens are signed with activeKeyId and verified with any listed key.
+    // A key with a secret is HS512; one with privateKey/publicKey is ES256 and published at /.well-known/jwks.json
+    private List<SigningKey> keys = new ArrayList<>();
+
+    private String activeKeyId;
+
+    // Optional properties file with the key set, re-read when it changes:
+    // active-key-id=<kid>, key.<kid>=<secret> or key.<kid>.private=<pem> and key.<kid>.public=<pem>
+    private String keysFile;
+
+    private Duration keysFileCheckInterval = Duration.ofSeconds(30);
+
     private Long accessTokenExpiration;
 
     private Long refreshTokenExpiration;
@@ -20,4 +38,28 @@ public class JwtProperties {
     private String headerName;
 
     private String tokenPrefix;
+
+    private ClaimsCache claimsCache = new ClaimsCache();
+
+    @Data
+    public static class SigningKey {
+
+        private String id;
+
+        private String secret;
+
+        // PKCS#8 PEM; leave empty to keep a retired ES256 key for verification only
+        private String privateKey;
+
+        // X.509 PEM
+        private String publicKey;
+    }
+
+    @Data
+    public static class ClaimsCache {
+
+        private boolean enabled = true;
+
+        private long maximumSize = 10_000;
+    }
 }
@@ -0,0 +1,310 @@
+package com.example.hrms.config;
+
+import com.example.hrms.events.JwtKeysRotatedEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs and verifies JWTs with a rotating set of keys.
+ * <p>
+ * Keys are decoded once into an immutable {@link KeyRing}, and a single {@link JwtParser} is
+ * built at startup; the parser resolves each token's key from its {@code kid} header against
+ * the current ring, so verifying costs a map lookup rather than a key and parser rebuild.
+ * New tokens are signed with the active key and carry its {@code kid}. Tokens without a
+ * {@code kid} (issued before rotation was introduced) are verified with the {@code default}
+ * key, which holds {@code jwt.secret} when no {@code jwt.keys} are configured, and only while
+ * the ring still contains it; once a rotation drops {@code default}, they are rejected.
+ * </p>
+ * <p>
+ * Keys are HS512 (shared secret) or ES256 (P-256 key pair); which one signs is decided by the
+ * active key, and a token is only accepted if its {@code alg} header matches the algorithm of
+ * the key it names. ES256 public keys are published by {@code JwksController}, so other
+ * services can verify tokens without the secret. Only keys in the ring are ever trusted, and
+ * a token must carry {@code jwt.issuer} as its {@code iss} claim.
+ * </p>
+ * <p>
+ * Rotating is a matter of replacing the ring: add the new key, make it active, and drop the
+ * old one once the tokens it signed have expired. With {@code jwt.keys-file} set the file is
+ * checked every {@code jwt.keys-file-check-interval} and a changed key set is picked up
+ * without a restart; {@link #rotate} does the same programmatically.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JwtTokenCodec {
+
+    private static final String DEFAULT_KEY_ID = "default";
+    private static final String ACTIVE_KEY_PROPERTY = "active-key-id";
+    private static final String KEY_PROPERTY_PREFIX = "key.";
+    private static final String PRIVATE_KEY_SUFFIX = ".private";
+    private static final String PUBLIC_KEY_SUFFIX = ".public";
+
+    private final JwtProperties jwtProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JwtParser parser;
+    private final ScheduledExecutorService keysFileWatcher;
+
+    private volatile KeyRing keyRing;
+    private volatile FileTime keysFileModified;
+
+    public JwtTokenCodec(JwtProperties jwtProperties) {
+        this(jwtProperties, event -> { });
+    }
+
+    @Autowired
+    public JwtTokenCodec(JwtProperties jwtProperties, ApplicationEventPublisher eventPublisher) {
+        if (!hasText(jwtProperties.getIssuer())) {
+            throw new IllegalArgumentException("jwt.issuer is required");
+        }
+        this.jwtProperties = jwtProperties;
+        this.eventPublisher = eventPublisher;
+        this.keyRing = initialKeyRing();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingResolver())
+                .requireIssuer(jwtProperties.getIssuer())
+                .build();
+
+        if (hasText(jwtProperties.getKeysFile())) {
+            reloadKeysFile();
+            long interval = jwtProperties.getKeysFileCheckInterval().toMillis();
+            keysFileWatcher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("jwt-keys-file").daemon().factory());
+            keysFileWatcher.scheduleWithFixedDelay(this::reloadKeysFile, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            keysFileWatcher = null;
+        }
+
+        log.info("JWT keys loaded: {} (active: {})", keyRing.keys().keySet(), keyRing.activeKeyId());
+    }
+
+    /**
+     * Signs a token with the active key.
+     *
+     * @throws IllegalStateException if this instance only verifies tokens
+     */
+    public String sign(Map<String, Object> claims, String subject, Date issuedAt, Date expiration) {
+        KeyRing ring = keyRing;
+        if (ring.activeKey() == null) {
+            throw new IllegalStateException("No JWT signing key is configured");
+        }
+
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, ring.activeKeyId())
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuer(jwtProperties.getIssuer())
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(ring.activeKey().signingKey(), ring.activeKey().algorithm())
+                .compact();
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims.
+     *
+     * @throws JwtException if the token is malformed, expired, from another issuer, signed with
+     *                      an unknown key or algorithm, or has an invalid signature
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Replaces the key set with HS512 keys.
+     *
+     * @param secrets     secret per key id
+     * @param activeKeyId key id new tokens are signed with; must be one of {@code secrets}
+     * @throws IllegalArgumentException if the active key is missing or a secret is too short
+     */
+    public void rotate(Map<String, String> secrets, String activeKeyId) {
+        List<JwtKey> keys = new ArrayList<>();
+        secrets.forEach((id, secret) -> keys.add(JwtKey.hmac(id, secret)));
+        rotate(keys, activeKeyId);
+    }
+
+    /**
+     * Replaces the key set. Tokens signed with a key that is no longer listed stop verifying;
+     * a {@link JwtKeysRotatedEvent} tells caches of verified tokens to drop what they hold.
+     *
+     * @param keys        every key tokens may be verified with
+     * @param activeKeyId key id new tokens are signed with, or {@code null} to only verify
+     * @throws IllegalArgumentException if the active key is missing or cannot sign
+     */
+    public void rotate(List<JwtKey> keys, String activeKeyId) {
+        KeyRing ring = KeyRing.of(keys, activeKeyId);
+        keyRing = ring;
+        log.info("JWT keys rotated: {} (active: {})", ring.keys().keySet(), activeKeyId);
+        eventPublisher.publishEvent(new JwtKeysRotatedEvent(ring.keys().keySet(), activeKeyId));
+    }
+
+    /**
+     * Ids of the keys tokens are currently verified with.
+     */
+    public Set<String> keyIds() {
+        return keyRing.keys().keySet();
+    }
+
+    /**
+     * Public keys of the ring as JSON Web Keys, for the JWKS endpoint. Shared-secret keys are
+     * never included.
+     */
+    public List<Map<String, Object>> publicJwks() {
+        return keyRing.publicJwks();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (keysFileWatcher != null) {
+            keysFileWatcher.shutdownNow();
+        }
+    }
+
+    private KeyRing initialKeyRing() {
+        if (jwtProperties.getKeys().isEmpty()) {
+            return hasText(jwtProperties.getSecret())
+                    ? KeyRing.of(List.of(JwtKey.hmac(DEFAULT_KEY_ID, jwtProperties.getSecret())), DEFAULT_KEY_ID)
+                    : KeyRing.of(List.of(), null);
+        }
+
+        List<JwtKey> keys = new ArrayList<>();
+        for (JwtProperties.SigningKey key : jwtProperties.getKeys()) {
+            keys.add(toJwtKey(key.getId(), key.getSecret(), key.getPrivateKey(), key.getPublicKey()));
+        }
+        return KeyRing.of(keys, jwtProperties.getActiveKeyId());
+    }
+
+    private static JwtKey toJwtKey(String id, String secret, String privateKey, String publicKey) {
+        if (hasText(publicKey)) {
+            return JwtKey.es256(id, hasText(privateKey) ? privateKey : null, publicKey);
+        }
+        return JwtKey.hmac(id, secret);
+    }
+
+    private void reloadKeysFile() {
+        Path path = Path.of(jwtProperties.getKeysFile());
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(keysFileModified)) {
+                return;
+            }
+
+            Properties file = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                file.load(reader);
+            }
+
+            // key.<kid>=<secret>, or key.<kid>.private / key.<kid>.public
+            Map<String, String[]> parts = new LinkedHashMap<>();
+            for (String name : file.stringPropertyNames()) {
+                if (!name.startsWith(KEY_PROPERTY_PREFIX)) {
+                    continue;
+                }
+                String rest = name.substring(KEY_PROPERTY_PREFIX.length());
+                int slot = 0;
+                if (rest.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    rest = rest.substring(0, rest.length() - PRIVATE_KEY_SUFFIX.length());
+                    slot = 1;
+                } else if (rest.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    rest = rest.substring(0, rest.length() - PUBLIC_KEY_SUFFIX.length());
+                    slot = 2;
+                }
+                parts.computeIfAbsent(rest, id -> new String[3])[slot] = file.getProperty(name);
+            }
+
+            List<JwtKey> keys = new ArrayList<>();
+            parts.forEach((id, values) -> keys.add(toJwtKey(id, values[0], values[1], values[2])));
+
+            rotate(keys, file.getProperty(ACTIVE_KEY_PROPERTY));
+            keysFileModified = modified;
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep signing with the current keys; a broken file must not lock everyone out
+            log.error("Could not load JWT keys from {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private final class KeyRingResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            JwtKey key = find(header.getKeyId());
+
+            // Never let the token choose how its own key is used (e.g. an RSA/EC public key as an HMAC secret)
+            if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Algorithm " + header.getAlgorithm() +
+                        " does not match key " + key.id());
+            }
+            return key.verificationKey();
+        }
+
+        private JwtKey find(String keyId) {
+            // Tokens from before rotation have no kid; accept them only while the legacy key is in the ring
+            JwtKey key = keyRing.keys().get(keyId != null ? keyId : DEFAULT_KEY_ID);
+            if (key == null) {
+                if (keyId == null) {
+                    throw new UnsupportedJwtException("Token has no key id");
+                }
+                throw new UnsupportedJwtException("Unknown signing key: " + keyId);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Immutable set of decoded keys, the one new tokens are signed with, and the published JWKs.
+     */
+    private record KeyRing(Map<String, JwtKey> keys, String activeKeyId, JwtKey activeKey,
+                           List<Map<String, Object>> publicJwks) {
+
+        static KeyRing of(List<JwtKey> keyList, String activeKeyId) {
+            Map<String, JwtKey> keys = new LinkedHashMap<>();
+            List<Map<String, Object>> publicJwks = new ArrayList<>();
+            for (JwtKey key : keyList) {
+                keys.put(key.id(), key);
+                key.toJwk().ifPresent(publicJwks::add);
+            }
+
+            JwtKey activeKey = null;
+            if (activeKeyId != null) {
+                activeKey = keys.get(activeKeyId);
+                if (activeKey == null || !activeKey.canSign()) {
+                    throw new IllegalArgumentException(
+                            "Active JWT key '" + activeKeyId + "' is not among the keys or has no private key");
+                }
+            }
+
+            return new KeyRing(Map.copyOf(keys), activeKeyId, activeKey, List.copyOf(publicJwks));
+        }
+    }
+}
@@ -3,15 +3,13 @@ package com.example.hrms.config;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,11 +21,7 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final JwtTokenCodec jwtTokenCodec;
 
     public String generateAccessToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -60,14 +54,7 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuer(jwtProperties.getIssuer())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+        return jwtTokenCodec.sign(claims, subject, now, expiryDate);
     }
 
     public String getUsernameFromToken(String token) {
@@ -82,13 +69,23 @@ public class JwtTokenProvider {
         return extractClaims(token).getExpiration();
     }
 
+    /**
+     * Verifies the token signature once and returns username, roles and expiry together.
+     *
+     * @throws JwtException if the token is malformed, expired or has an invalid signature
+     */
+    public JwtClaims parseAndVerify(String token) {
+        Claims claims = extractClaims(token);
+        return JwtClaims.builder()
+                .username(claims.getSubject())
+                .roles(claims.get("roles", String.class))
+                .expiration(claims.getExpiration())
+                .build();
+    }
+
     private Claims extractClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtTokenCodec.parse(token);
         } catch (JwtException e) {
             log.error("Failed to parse JWT: {}", e.getMessage());
             throw e;
@@ -97,10 +94,7 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            jwtTokenCodec.parse(token);
             return true;
         } catch (JwtException ex) {
             log.error("Token invalid: {}", ex.getMessage());
@@ -0,0 +1,14 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.org-chart")
+public class OrgChartProperties {
+
+    // The in-memory reporting lines are reloaded this often, picking up changes made outside this instance
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,26 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt cost for new hashes; stored hashes with another cost are rehashed after a successful login
+    private int bcryptStrength = 12;
+
+    // Threads that run hashes; 0 means half the available processors
+    private int threads = 0;
+
+    // Hashes waiting for a thread; beyond this logins are refused with 503 instead of queueing
+    private int queueCapacity = 64;
+
+    // Longest a caller waits for its hash, queueing included
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    // Rehash stored hashes whose cost differs from bcrypt-strength, when there is spare capacity
+    private boolean rehashOnLogin = true;
+}
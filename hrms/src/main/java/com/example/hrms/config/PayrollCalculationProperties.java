@@ -0,0 +1,21 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "payroll.calculation")
+public class PayrollCalculationProperties {
+
+    // Split payroll calculation across a fork-join pool
+    private boolean parallel = true;
+
+    // Worker threads for the pool; 0 means one per available core
+    private int parallelism = 0;
+
+    // Below this many timesheets the sequential path is faster than forking
+    private int parallelThreshold = 256;
+
+    // Also run the sequential path and log any difference (diagnostics only, doubles the work)
+    private boolean compareWithSequential = false;
+}
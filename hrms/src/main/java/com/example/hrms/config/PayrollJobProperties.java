@@ -0,0 +1,18 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "payroll.job")
+public class PayrollJobProperties {
+
+    // Timesheets processed (and committed) per transaction
+    private int chunkSize = 500;
+
+    // Number of payroll jobs that may run at the same time
+    private int concurrency = 1;
+
+    // Pick up jobs left QUEUED or RUNNING by a previous instance
+    private boolean resumeOnStartup = true;
+}
@@ -0,0 +1,20 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "payroll.preview")
+public class PayrollPreviewProperties {
+
+    // Keep per-week preview snapshots and refresh only the lines that changed
+    private boolean snapshotEnabled = true;
+
+    // Number of weeks kept in memory
+    private long maximumWeeks = 8;
+
+    // Safety net: snapshots are rebuilt from scratch at least this often
+    private Duration rebuildAfter = Duration.ofMinutes(30);
+}
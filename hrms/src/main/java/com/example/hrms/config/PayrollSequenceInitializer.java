@@ -0,0 +1,36 @@
+package com.example.hrms.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@code payroll_seq} past any ids already present in {@code payroll}.
+ * Payroll ids used to come from an IDENTITY column, so on an existing database the freshly
+ * created sequence would otherwise hand out ids that collide with old rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollSequenceInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('payroll_seq', GREATEST(" +
+                            "(SELECT COALESCE(MAX(id), 0) FROM payroll), " +
+                            "(SELECT last_value FROM payroll_seq)))",
+                    Long.class);
+            log.debug("payroll_seq aligned at {}", value);
+        } catch (DataAccessException e) {
+            log.warn("Could not align payroll_seq with existing payroll ids: {}", e.getMessage());
+        }
+    }
+}
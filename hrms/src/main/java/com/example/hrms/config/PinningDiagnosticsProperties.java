@@ -0,0 +1,20 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "threads.pinning-diagnostics")
+public class PinningDiagnosticsProperties {
+
+    // Record jdk.VirtualThreadPinned events with JFR and log where they happened
+    private boolean enabled = false;
+
+    // Pins shorter than this are not reported
+    private Duration threshold = Duration.ofMillis(20);
+
+    // Stack frames logged per pinning event
+    private int stackDepth = 12;
+}
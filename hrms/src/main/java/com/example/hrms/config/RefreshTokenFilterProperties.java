@@ -0,0 +1,24 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.refresh-token-filter")
+public class RefreshTokenFilterProperties {
+
+    // Reject unknown and revoked refresh tokens in memory. Only for a single instance per database:
+    // another instance's tokens would be rejected until the next rebuild
+    private boolean enabled = false;
+
+    // Outstanding tokens the filter is sized for; it grows on rebuild if there are more
+    private long expectedTokens = 100_000;
+
+    // Share of never-issued tokens that still reach the database
+    private double falsePositiveRate = 0.01;
+
+    // Filter is rebuilt from the database this often, dropping revoked and expired tokens
+    private Duration rebuildInterval = Duration.ofMinutes(15);
+}
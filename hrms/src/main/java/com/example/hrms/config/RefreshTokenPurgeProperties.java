@@ -0,0 +1,23 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.refresh-token-purge")
+public class RefreshTokenPurgeProperties {
+
+    // Delete expired and revoked refresh tokens in the background
+    private boolean enabled = true;
+
+    // Time between purge runs; the first run starts one interval after startup
+    private Duration interval = Duration.ofHours(1);
+
+    // Rows deleted per transaction, which bounds how long row locks are held
+    private int batchSize = 1000;
+
+    // Pause between batches so logins and refreshes are not starved
+    private Duration batchPause = Duration.ofMillis(100);
+}
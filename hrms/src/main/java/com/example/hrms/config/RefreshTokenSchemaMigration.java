@@ -0,0 +1,49 @@
+package com.example.hrms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves {@code refresh_tokens} from plain tokens to token hashes before Hibernate updates the
+ * schema.
+ * <p>
+ * Refresh tokens used to be stored in a NOT NULL {@code token} column. {@code ddl-auto=update}
+ * neither drops that column, which would make every new insert fail, nor can it add the NOT NULL
+ * {@code token_hash} column to a table that still has rows. So while the old column exists, every
+ * stored token is deleted (their hashes cannot be recovered; users sign in again) and the column
+ * dropped. Runs before the entity manager factory and does nothing once the column is gone.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class RefreshTokenSchemaMigration {
+
+    public RefreshTokenSchemaMigration(DataSource dataSource) {
+        migrate(new JdbcTemplate(dataSource));
+    }
+
+    // This configuration's bean name; the entity manager factory waits for it
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor refreshTokenSchemaMigrationFirst() {
+        return new EntityManagerFactoryDependsOnPostProcessor("refreshTokenSchemaMigration");
+    }
+
+    private static void migrate(JdbcTemplate jdbcTemplate) {
+        Integer plainColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'refresh_tokens' AND column_name = 'token'",
+                Integer.class);
+        if (plainColumns == null || plainColumns == 0) {
+            return;
+        }
+
+        int deleted = jdbcTemplate.update("DELETE FROM refresh_tokens");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token");
+        log.info("Migrated refresh_tokens to token hashes; removed {} plain tokens", deleted);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hrms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "security.sessions")
+public class SessionProperties {
+
+    // Active refresh tokens kept per employee; logging in beyond this revokes the oldest. 0 means no cap
+    private int maxPerEmployee = 10;
+
+    // Exchange the refresh token on every refresh; reusing an exchanged token revokes all of the employee's sessions
+    private boolean rotateRefreshTokens = false;
+}
@@ -0,0 +1,82 @@
+package com.example.hrms.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, typically because they block
+ * (on JDBC, a lock, I/O) inside a {@code synchronized} block or method.
+ * <p>
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} flight-recorder event in process, logs each
+ * pin longer than {@code threads.pinning-diagnostics.threshold} with the top of its stack, and
+ * counts them in the {@code jvm.threads.virtual.pinned} meter. Meant to be switched on together
+ * with {@code spring.threads.virtual.enabled} (see the {@code virtual-threads} profile); with
+ * platform threads there is nothing to report.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "threads.pinning-diagnostics.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final PinningDiagnosticsProperties properties;
+    private final Counter pinnedCounter;
+    private final RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(PinningDiagnosticsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the reporting threshold")
+                .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT)
+                .withThreshold(properties.getThreshold())
+                .withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned longer than {}", properties.getThreshold());
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("Virtual thread pinned for {} ms{}",
+                event.getDuration().toMillis(), formatStack(event.getStackTrace()));
+    }
+
+    private String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(properties.getStackDepth())
+                .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." +
+                        frame.getMethod().getName() + " (line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining());
+    }
+}
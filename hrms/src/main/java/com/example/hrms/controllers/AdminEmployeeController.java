@@ -2,6 +2,7 @@ package com.example.hrms.controllers;
 
 import com.example.hrms.dto.*;
 import com.example.hrms.models.Role;
+import com.example.hrms.search.EmployeeSearchEngine;
 import com.example.hrms.services.EmployeeService;
 import com.example.hrms.services.PayInfoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,31 +36,48 @@ public class AdminEmployeeController {
     private final EmployeeService employeeService;
     private final PayInfoService payInfoService;
 
-    @Operation(summary = "Get all employees", description = "Get all employees with pagination and optional filtering by search term or role")
+    @Operation(summary = "Get all employees", description = "Get all employees with offset or cursor pagination and optional filtering by search term or role")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field for cursor pagination, or search combined with cursor pagination"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "403", description = "Not authorized (Admin only)")
     })
     @GetMapping
     public ResponseEntity<PageResponse<EmployeeListResponse>> getAllEmployees(
-            @Parameter(description = "Search by name or email") @RequestParam(required = false) String search,
+            @Parameter(description = "Search by name or email (offset mode only)") @RequestParam(required = false) String search,
             @Parameter(description = "Filter by role") @RequestParam(required = false) Role role,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "lastName") String sort,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String direction) {
+            @Parameter(description = "Sort field (relevance when searching, lastName otherwise)") @RequestParam(required = false) String sort,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Pagination mode: offset (page numbers) or cursor (continuation token)") @RequestParam(defaultValue = "offset") String pagination,
+            @Parameter(description = "Continuation token from the previous page (cursor mode)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also return the total count (cursor mode)") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
         log.debug("Get all employees request - page: {}, size: {}, search: {}, role: {}",
                 page, size, search, role);
 
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ?
                 Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        boolean searching = search != null && !search.trim().isEmpty();
+
+        if (cursor != null || pagination.equalsIgnoreCase("cursor")) {
+            CursorPageRequest cursorRequest = CursorPageRequest.builder()
+                    .cursor(cursor)
+                    .size(size)
+                    .sort(Sort.by(sortDirection, sort != null ? sort : "lastName"))
+                    .includeTotal(includeTotal)
+                    .build();
+            return ResponseEntity.ok(employeeService.scrollEmployees(search, role, cursorRequest));
+        }
+
+        String sortField = sort != null ? sort : (searching ? EmployeeSearchEngine.RELEVANCE : "lastName");
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortField));
 
         PageResponse<EmployeeListResponse> response;
 
-        if (search != null && !search.trim().isEmpty()) {
+        if (searching) {
             response = employeeService.searchEmployees(search, pageable);
         } else if (role != null) {
             response = employeeService.getEmployeesByRole(role, pageable);
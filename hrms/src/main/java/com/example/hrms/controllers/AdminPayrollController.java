@@ -1,9 +1,11 @@
 package com.example.hrms.controllers;
 
+import com.example.hrms.dto.PayrollJobResponse;
 import com.example.hrms.dto.PayrollPreviewResponse;
 import com.example.hrms.dto.PayrollResponse;
 import com.example.hrms.dto.RunPayrollRequest;
 import com.example.hrms.dto.RunPayrollResponse;
+import com.example.hrms.services.PayrollJobService;
 import com.example.hrms.services.PayrollService;
 import com.example.hrms.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +18,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +36,7 @@ import java.util.List;
 public class AdminPayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollJobService payrollJobService;
 
     @Operation(summary = "Preview payroll", description = "Preview payroll calculations for a specific week before running")
     @ApiResponses(value = {
@@ -65,6 +69,53 @@ public class AdminPayrollController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Start payroll job", description = "Run payroll for a specific week in the background, in chunks committed one at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Payroll job queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, payroll already run or a job already running for this week"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    @PostMapping("/jobs")
+    public ResponseEntity<PayrollJobResponse> startPayrollJob(@Valid @RequestBody RunPayrollRequest request) {
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        log.info("Payroll job request for week: {} by admin: {}", request.getWeekStartDate(), username);
+        PayrollJobResponse response = payrollJobService.startJob(request, username);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(summary = "Get payroll job status", description = "Get the progress of a background payroll job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Payroll job not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PayrollJobResponse> getPayrollJob(
+            @Parameter(description = "Payroll job ID") @PathVariable Long jobId) {
+        log.debug("Payroll job status request for ID: {}", jobId);
+        PayrollJobResponse response = payrollJobService.getJob(jobId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Resume payroll job", description = "Re-queue a failed payroll job from its last committed chunk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Payroll job re-queued"),
+            @ApiResponse(responseCode = "400", description = "Payroll job has not failed"),
+            @ApiResponse(responseCode = "404", description = "Payroll job not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    @PostMapping("/jobs/{jobId}/resume")
+    public ResponseEntity<PayrollJobResponse> resumePayrollJob(
+            @Parameter(description = "Payroll job ID") @PathVariable Long jobId) {
+        log.info("Resume payroll job request for ID: {}", jobId);
+        PayrollJobResponse response = payrollJobService.resumeJob(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @Operation(summary = "Get payroll by ID", description = "Get payroll details by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payroll retrieved successfully"),
@@ -16,6 +16,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -77,6 +79,20 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "List active sessions", description = "Active refresh tokens of the current user, newest first. " +
+            "Logging in beyond the per-user limit revokes the oldest session.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Active sessions returned"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionResponse>> getActiveSessions() {
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        return ResponseEntity.ok(authService.getActiveSessions(username));
+    }
+
     @Operation(summary = "Reset password", description = "Reset password for first-time login or password change")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses(value = {
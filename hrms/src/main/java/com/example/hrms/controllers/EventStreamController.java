@@ -0,0 +1,54 @@
+package com.example.hrms.controllers;
+
+import com.example.hrms.exceptions.ResourceNotFoundException;
+import com.example.hrms.models.Employee;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.services.EventStreamService;
+import com.example.hrms.utils.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/employee")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Events", description = "Server-sent events for timesheet and payroll changes")
+@SecurityRequirement(name = "bearerAuth")
+public class EventStreamController {
+
+    private final EventStreamService eventStreamService;
+    private final EmployeeRepository employeeRepository;
+
+    @Operation(summary = "Subscribe to events",
+            description = "Opens a server-sent event stream for the current user. Managers receive team-counts " +
+                    "on connect and whenever their team's pending timesheets change; every user receives " +
+                    "timesheet-status when their timesheet is reviewed and payroll-processed when they are paid.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
+    public SseEmitter subscribe() {
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+
+        Employee employee = employeeRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+
+        log.debug("Event stream requested by user: {}", username);
+
+        return eventStreamService.subscribe(employee.getId(), SecurityUtils.hasAnyRole("MANAGER", "ADMIN"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hrms.controllers;
+
+import com.example.hrms.config.JwtTokenCodec;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "User authentication and session management APIs")
+public class JwksController {
+
+    private final JwtTokenCodec jwtTokenCodec;
+
+    @Operation(summary = "Get token verification keys",
+            description = "Public keys for verifying ES256 access tokens, as a JSON Web Key Set. " +
+                    "Empty while tokens are signed with a shared secret.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Key set returned")
+    })
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        // Verifiers cache the set; a rotated-in key is announced before it signs anything
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", jwtTokenCodec.publicJwks()));
+    }
+}
@@ -7,6 +7,7 @@ import com.example.hrms.models.TimesheetStatus;
 import com.example.hrms.repositories.EmployeeRepository;
 import com.example.hrms.services.EmployeeService;
 import com.example.hrms.services.TimesheetService;
+import com.example.hrms.utils.ETags;
 import com.example.hrms.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,11 +21,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/manager")
@@ -72,7 +76,10 @@ public class ManagerController {
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "submittedAt") String sort,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String direction) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Pagination mode: offset (page numbers) or cursor (continuation token, always oldest first)") @RequestParam(defaultValue = "offset") String pagination,
+            @Parameter(description = "Continuation token from the previous page (cursor mode)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also return the total count (cursor mode)") @RequestParam(defaultValue = "false") boolean includeTotal) {
 
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
@@ -82,6 +89,16 @@ public class ManagerController {
 
         log.debug("Team timesheets request for manager: {} with status: {}", username, status);
 
+        if (cursor != null || pagination.equalsIgnoreCase("cursor")) {
+            CursorPageRequest cursorRequest = CursorPageRequest.builder()
+                    .cursor(cursor)
+                    .size(size)
+                    .includeTotal(includeTotal)
+                    .build();
+            return ResponseEntity.ok(
+                    timesheetService.scrollTimesheetsForManager(manager.getId(), status, cursorRequest));
+        }
+
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ?
                 Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
@@ -92,6 +109,33 @@ public class ManagerController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get whole-team timesheets", description = "Get timesheets for everyone below the manager, including skip-level reports, with the subtree's pending count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Timesheets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Draft status requested"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    @GetMapping("/team/timesheets")
+    public ResponseEntity<TeamTimesheetsResponse> getSubtreeTimesheets(
+            @Parameter(description = "Filter by status") @RequestParam(required = false, defaultValue = "SUBMITTED") TimesheetStatus status,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+
+        Employee manager = employeeRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Manager not found"));
+
+        log.debug("Subtree timesheets request for manager: {} with status: {}", username, status);
+
+        TeamTimesheetsResponse response =
+                timesheetService.getSubtreeTimesheets(manager.getId(), status, PageRequest.of(page, size));
+
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get pending timesheets count", description = "Get count of timesheets pending approval")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Count retrieved successfully"),
@@ -116,13 +160,15 @@ public class ManagerController {
     @Operation(summary = "Get timesheet details", description = "Get timesheet details by ID (for direct reports only)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Timesheet retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Timesheet unchanged since the If-None-Match version"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
             @ApiResponse(responseCode = "403", description = "Not authorized to view this timesheet"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @GetMapping("/timesheets/{timesheetId}")
     public ResponseEntity<TimesheetResponse> getTimesheetById(
-            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId) {
+            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
 
@@ -131,9 +177,17 @@ public class ManagerController {
 
         log.debug("Timesheet detail request for ID: {} by manager: {}", timesheetId, username);
 
+        // Answer polling from the version column alone, without loading entries
+        if (ifNoneMatch != null) {
+            Optional<Long> version = timesheetService.findTimesheetVersionForManager(timesheetId, manager.getId());
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.forVersion(version.get())).build();
+            }
+        }
+
         TimesheetResponse response = timesheetService.getTimesheetByIdForManager(timesheetId, manager.getId());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
     }
 
     @Operation(summary = "Approve timesheet", description = "Approve a submitted timesheet")
@@ -141,17 +195,20 @@ public class ManagerController {
             @ApiResponse(responseCode = "200", description = "Timesheet approved successfully"),
             @ApiResponse(responseCode = "400", description = "Timesheet cannot be approved"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
+            @ApiResponse(responseCode = "412", description = "Timesheet changed since the If-Match version"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @PostMapping("/timesheets/{timesheetId}/approve")
     public ResponseEntity<MessageResponse> approveTimesheet(
-            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId) {
+            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
 
         log.info("Timesheet approval request for ID: {} by manager: {}", timesheetId, username);
 
-        MessageResponse response = timesheetService.approveTimesheet(timesheetId, username);
+        MessageResponse response = timesheetService.approveTimesheet(
+                timesheetId, username, ETags.expectedVersion(ifMatch));
 
         return ResponseEntity.ok(response);
     }
@@ -161,18 +218,41 @@ public class ManagerController {
             @ApiResponse(responseCode = "200", description = "Timesheet denied successfully"),
             @ApiResponse(responseCode = "400", description = "Timesheet cannot be denied or reason not provided"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
+            @ApiResponse(responseCode = "412", description = "Timesheet changed since the If-Match version"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @PostMapping("/timesheets/{timesheetId}/deny")
     public ResponseEntity<MessageResponse> denyTimesheet(
             @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody DenyTimesheetRequest request) {
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
 
         log.info("Timesheet denial request for ID: {} by manager: {}", timesheetId, username);
 
-        MessageResponse response = timesheetService.denyTimesheet(timesheetId, username, request);
+        MessageResponse response = timesheetService.denyTimesheet(
+                timesheetId, username, request, ETags.expectedVersion(ifMatch));
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Review timesheets in bulk", description = "Approve or deny several submitted timesheets at once, with a result per timesheet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Review applied; see per-timesheet results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or denial reason not provided"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PostMapping("/timesheets/review")
+    public ResponseEntity<BulkReviewResponse> reviewTimesheets(
+            @Valid @RequestBody BulkReviewRequest request) {
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+
+        log.info("Bulk timesheet review request for {} timesheets by manager: {}",
+                request.getTimesheetIds().size(), username);
+
+        BulkReviewResponse response = timesheetService.reviewTimesheets(request, username);
 
         return ResponseEntity.ok(response);
     }
@@ -193,11 +273,11 @@ public class ManagerController {
 
         log.debug("Statistics request for manager: {}", username);
 
-        List<EmployeeResponse> directReports = employeeService.getDirectReports(manager.getId());
+        int directReportsCount = employeeService.countActiveDirectReports(manager.getId());
         long pendingTimesheets = timesheetService.getPendingTimesheetsCount(manager.getId());
 
         ManagerStatistics stats = ManagerStatistics.builder()
-                .directReportsCount(directReports.size())
+                .directReportsCount(directReportsCount)
                 .pendingTimesheetsCount(pendingTimesheets)
                 .build();
 
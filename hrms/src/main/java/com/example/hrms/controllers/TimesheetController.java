@@ -2,8 +2,10 @@ package com.example.hrms.controllers;
 
 import com.example.hrms.dto.MessageResponse;
 import com.example.hrms.dto.TimesheetResponse;
+import com.example.hrms.dto.UpdateTimesheetEntryRequest;
 import com.example.hrms.dto.UpdateTimesheetRequest;
 import com.example.hrms.services.TimesheetService;
+import com.example.hrms.utils.ETags;
 import com.example.hrms.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,11 +16,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employee/timesheet")
@@ -37,27 +43,39 @@ public class TimesheetController {
     })
     @GetMapping("/current")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
-    public ResponseEntity<TimesheetResponse> getCurrentTimesheet() {
+    public ResponseEntity<TimesheetResponse> getCurrentTimesheet(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
         log.debug("Current timesheet request for user: {}", username);
         TimesheetResponse response = timesheetService.getCurrentTimesheet(username);
-        return ResponseEntity.ok(response);
+        return conditional(response, ifNoneMatch);
     }
 
     @Operation(summary = "Get timesheet by ID", description = "Get a specific timesheet by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Timesheet retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Timesheet unchanged since the If-None-Match version"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @GetMapping("/{timesheetId}")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
     public ResponseEntity<TimesheetResponse> getTimesheetById(
-            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId) {
+            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Timesheet request for ID: {}", timesheetId);
+
+        // Answer polling from the version column alone, without loading entries
+        if (ifNoneMatch != null) {
+            Optional<Long> version = timesheetService.findTimesheetVersion(timesheetId);
+            if (version.isPresent() && ETags.matches(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.forVersion(version.get())).build();
+            }
+        }
+
         TimesheetResponse response = timesheetService.getTimesheetById(timesheetId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
     }
 
     @Operation(summary = "Get timesheet history", description = "Get all timesheets for the current employee")
@@ -78,18 +96,46 @@ public class TimesheetController {
     @Operation(summary = "Update timesheet", description = "Update timesheet entries (only for DRAFT or DENIED status)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Timesheet updated successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request or timesheet cannot be edited"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, not your timesheet or timesheet cannot be edited"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
+            @ApiResponse(responseCode = "412", description = "Timesheet changed since the If-Match version"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @PutMapping("/{timesheetId}")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
     public ResponseEntity<TimesheetResponse> updateTimesheet(
             @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTimesheetRequest request) {
-        log.info("Timesheet update request for ID: {}", timesheetId);
-        TimesheetResponse response = timesheetService.updateTimesheet(timesheetId, request);
-        return ResponseEntity.ok(response);
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        log.info("Timesheet update request for ID: {} by user: {}", timesheetId, username);
+        TimesheetResponse response = timesheetService.updateTimesheet(
+                timesheetId, username, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
+    }
+
+    @Operation(summary = "Update one day of a timesheet", description = "Set the hours for a single work date without resending the week; zero hours removes the day (only for DRAFT or DENIED status)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Timesheet updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, not your timesheet, date outside the week or timesheet cannot be edited"),
+            @ApiResponse(responseCode = "404", description = "Timesheet not found"),
+            @ApiResponse(responseCode = "412", description = "Timesheet changed since the If-Match version"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @PatchMapping("/{timesheetId}/entries/{workDate}")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
+    public ResponseEntity<TimesheetResponse> updateTimesheetEntry(
+            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @Parameter(description = "Work date (yyyy-MM-dd)") @PathVariable LocalDate workDate,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateTimesheetEntryRequest request) {
+        String username = SecurityUtils.getCurrentUsername()
+                .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        log.info("Timesheet entry update request for ID: {}, date: {} by user: {}", timesheetId, workDate, username);
+        TimesheetResponse response = timesheetService.updateTimesheetEntry(
+                timesheetId, username, workDate, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(response.getVersion())).body(response);
     }
 
     @Operation(summary = "Submit timesheet for approval", description = "Submit timesheet to manager for review")
@@ -97,16 +143,27 @@ public class TimesheetController {
             @ApiResponse(responseCode = "200", description = "Timesheet submitted successfully"),
             @ApiResponse(responseCode = "400", description = "Timesheet cannot be submitted"),
             @ApiResponse(responseCode = "404", description = "Timesheet not found"),
+            @ApiResponse(responseCode = "412", description = "Timesheet changed since the If-Match version"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     @PostMapping("/{timesheetId}/submit")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
     public ResponseEntity<MessageResponse> submitTimesheet(
-            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId) {
+            @Parameter(description = "Timesheet ID") @PathVariable Long timesheetId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String username = SecurityUtils.getCurrentUsername()
                 .orElseThrow(() -> new IllegalStateException("User not authenticated"));
         log.info("Timesheet submit request for ID: {} by user: {}", timesheetId, username);
-        MessageResponse response = timesheetService.submitTimesheet(timesheetId, username);
+        MessageResponse response = timesheetService.submitTimesheet(
+                timesheetId, username, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<TimesheetResponse> conditional(TimesheetResponse response, String ifNoneMatch) {
+        String eTag = ETags.forVersion(response.getVersion());
+        if (ETags.matches(ifNoneMatch, response.getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
 }
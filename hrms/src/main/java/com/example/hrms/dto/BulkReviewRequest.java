@@ -0,0 +1,34 @@
+package com.example.hrms.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkReviewRequest {
+
+    public enum Decision {
+        APPROVE,
+        DENY
+    }
+
+    @NotEmpty(message = "At least one timesheet ID is required")
+    @Size(max = 200, message = "At most 200 timesheets can be reviewed at once")
+    private List<@NotNull Long> timesheetIds;
+
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+
+    // Required when denying
+    @Size(min = 10, max = 500, message = "Denial reason must be between 10 and 500 characters")
+    private String reason;
+}
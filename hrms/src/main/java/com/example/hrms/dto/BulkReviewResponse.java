@@ -0,0 +1,31 @@
+package com.example.hrms.dto;
+
+import com.example.hrms.models.TimesheetStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkReviewResponse {
+
+    private int reviewedCount;
+    private int failedCount;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private Long timesheetId;
+        private boolean success;
+        private TimesheetStatus status;
+        private String message;
+    }
+}
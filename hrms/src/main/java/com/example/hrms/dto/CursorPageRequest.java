@@ -0,0 +1,21 @@
+package com.example.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageRequest {
+
+    // Opaque token from the previous page's nextCursor; null for the first page
+    private String cursor;
+    private int size;
+    private Sort sort;
+    // Run a COUNT query as well (off by default, that is the point of cursor paging)
+    private boolean includeTotal;
+}
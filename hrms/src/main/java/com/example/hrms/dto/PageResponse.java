@@ -1,5 +1,6 @@
 package com.example.hrms.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,18 +8,28 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * A page of results, either offset-based (page number and totals) or cursor-based.
+ * <p>
+ * In cursor mode {@code currentPage} and {@code totalPages} are omitted, {@code totalElements}
+ * is only present when requested, and {@code nextCursor} is the opaque token for the next page
+ * (absent on the last page).
+ * </p>
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
     private List<T> content;
-    private int currentPage;
-    private int totalPages;
-    private long totalElements;
+    private Integer currentPage;
+    private Integer totalPages;
+    private Long totalElements;
     private int pageSize;
     private boolean first;
     private boolean last;
     private boolean empty;
+    private String nextCursor;
 }
@@ -0,0 +1,31 @@
+package com.example.hrms.dto;
+
+import com.example.hrms.models.PayrollJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollJobResponse {
+
+    private Long jobId;
+    private LocalDate weekStartDate;
+    private LocalDate weekEndDate;
+    private LocalDate paymentDate;
+    private PayrollJobStatus status;
+    private Integer totalCount;
+    private Integer processedCount;
+    private BigDecimal totalAmount;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
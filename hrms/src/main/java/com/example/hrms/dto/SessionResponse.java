@@ -0,0 +1,19 @@
+package com.example.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionResponse {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiryDate;
+}
@@ -0,0 +1,49 @@
+package com.example.hrms.dto;
+
+import com.example.hrms.models.TimesheetStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Payloads sent on the employee event stream.
+ */
+public final class StreamEvents {
+
+    private StreamEvents() {
+    }
+
+    // Event name "team-counts": sent to managers on connect and whenever the counts may have changed
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TeamCounts {
+        private long pendingTimesheetsCount;
+        private int directReportsCount;
+    }
+
+    // Event name "timesheet-status": sent to the timesheet's owner
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TimesheetStatusChanged {
+        private Long timesheetId;
+        private TimesheetStatus status;
+        private LocalDate weekStartDate;
+    }
+
+    // Event name "payroll-processed": sent to each employee paid in the run
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PayrollProcessed {
+        private LocalDate payPeriodStart;
+        private LocalDate payPeriodEnd;
+    }
+}
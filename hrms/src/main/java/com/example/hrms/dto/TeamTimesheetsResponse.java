@@ -0,0 +1,16 @@
+package com.example.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamTimesheetsResponse {
+
+    private PageResponse<TimesheetListResponse> timesheets;
+    private Long pendingCount;
+}
@@ -30,6 +30,7 @@ public class TimesheetResponse {
     private List<TimesheetEntryResponse> entries;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     @Data
     @NoArgsConstructor
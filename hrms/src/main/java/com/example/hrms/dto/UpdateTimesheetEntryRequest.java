@@ -0,0 +1,28 @@
+package com.example.hrms.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateTimesheetEntryRequest {
+
+    // Zero removes the day from the timesheet
+    @NotNull(message = "Hours worked is required")
+    @DecimalMin(value = "0.0", message = "Hours worked cannot be negative")
+    @DecimalMax(value = "24.0", message = "Hours worked cannot exceed 24 hours")
+    private BigDecimal hoursWorked;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+}
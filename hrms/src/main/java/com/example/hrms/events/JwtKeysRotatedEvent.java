@@ -0,0 +1,10 @@
+package com.example.hrms.events;
+
+import java.util.Set;
+
+/**
+ * Published when the JWT key set is replaced. Tokens verified before the rotation may have
+ * been signed with a key that is no longer listed, so anything cached from them is stale.
+ */
+public record JwtKeysRotatedEvent(Set<String> keyIds, String activeKeyId) {
+}
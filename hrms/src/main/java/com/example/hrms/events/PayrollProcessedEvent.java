@@ -0,0 +1,11 @@
+package com.example.hrms.events;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published when payroll is processed for a set of employees. Listeners run after commit.
+ * A background payroll job publishes one event per committed chunk.
+ */
+public record PayrollProcessedEvent(LocalDate payPeriodStart, LocalDate payPeriodEnd, List<Long> employeeIds) {
+}
@@ -0,0 +1,14 @@
+package com.example.hrms.events;
+
+import com.example.hrms.models.TimesheetStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a timesheet is submitted, approved or denied. Listeners run after commit.
+ *
+ * @param managerId the employee's manager at the time of the change, or {@code null}
+ */
+public record TimesheetStatusChangedEvent(Long timesheetId, Long employeeId, Long managerId,
+                                          TimesheetStatus status, LocalDate weekStartDate) {
+}
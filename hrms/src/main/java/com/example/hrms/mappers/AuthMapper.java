@@ -1,7 +1,9 @@
 package com.example.hrms.mappers;
 
 import com.example.hrms.dto.AuthResponse;
+import com.example.hrms.dto.SessionResponse;
 import com.example.hrms.models.Employee;
+import com.example.hrms.models.RefreshToken;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -55,4 +57,15 @@ public class AuthMapper {
                 .expiresIn(expiresIn)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert an active refresh token to a session entry
+     */
+    public SessionResponse toSessionResponse(RefreshToken refreshToken) {
+        return SessionResponse.builder()
+                .id(refreshToken.getId())
+                .createdAt(refreshToken.getCreatedAt())
+                .expiryDate(refreshToken.getExpiryDate())
+                .build();
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.hrms.mappers;
 
 import com.example.hrms.dto.PageResponse;
+import com.example.hrms.utils.CursorCodec;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -20,7 +23,7 @@ public class PageMapper {
                     .content(List.of())
                     .currentPage(0)
                     .totalPages(0)
-                    .totalElements(0)
+                    .totalElements(0L)
                     .pageSize(0)
                     .first(true)
                     .last(true)
@@ -50,7 +53,7 @@ public class PageMapper {
                     .content(List.of())
                     .currentPage(0)
                     .totalPages(0)
-                    .totalElements(0)
+                    .totalElements(0L)
                     .pageSize(0)
                     .first(true)
                     .last(true)
@@ -73,4 +76,40 @@ public class PageMapper {
                 .empty(page.isEmpty())
                 .build();
     }
+
+    /**
+     * Convert a Spring Data keyset Window to a cursor-mode PageResponse.
+     * The next cursor encodes the sort keys of the last element.
+     */
+    public <T, R> PageResponse<R> toCursorPageResponse(Window<T> window, Function<T, R> mapper,
+                                                       int pageSize, boolean first, Long totalElements) {
+        List<R> mappedContent = window.getContent().stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()
+                && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition keyset) {
+            nextCursor = CursorCodec.encode(keyset.getKeys());
+        }
+
+        return toCursorPageResponse(mappedContent, pageSize, first, nextCursor, totalElements);
+    }
+
+    /**
+     * Build a cursor-mode PageResponse from already fetched content.
+     * Offset fields (current page, total pages) are left out.
+     */
+    public <T> PageResponse<T> toCursorPageResponse(List<T> content, int pageSize, boolean first,
+                                                    String nextCursor, Long totalElements) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .totalElements(totalElements)
+                .pageSize(pageSize)
+                .first(first)
+                .last(nextCursor == null)
+                .empty(content.isEmpty())
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
@@ -8,10 +8,12 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.example.hrms.dto.PayrollJobResponse;
 import com.example.hrms.dto.PayrollPreviewResponse;
 import com.example.hrms.dto.PayrollResponse;
 import com.example.hrms.models.Employee;
 import com.example.hrms.models.Payroll;
+import com.example.hrms.models.PayrollJob;
 
 @Component
 public class PayrollMapper {
@@ -110,30 +112,28 @@ public class PayrollMapper {
     public PayrollPreviewResponse toPreviewResponse(List<Payroll> payrolls,
                                                     LocalDate startDate,
                                                     LocalDate endDate) {
-        if (payrolls == null || payrolls.isEmpty()) {
-            return PayrollPreviewResponse.builder()
-                    .payPeriod(PayrollPreviewResponse.PayPeriodInfo.builder()
-                            .startDate(startDate)
-                            .endDate(endDate)
-                            .build())
-                    .employees(List.of())
-                    .totalGrossPay(BigDecimal.ZERO)
-                    .totalNetPay(BigDecimal.ZERO)
-                    .employeeCount(0)
-                    .build();
-        }
-
-        List<PayrollPreviewResponse.EmployeePayrollInfo> employeePayrolls =
-                payrolls.stream()
+        List<PayrollPreviewResponse.EmployeePayrollInfo> employeePayrolls = payrolls == null
+                ? List.of()
+                : payrolls.stream()
                         .map(this::toEmployeePayrollInfo)
                         .collect(Collectors.toList());
 
-        BigDecimal totalGross = payrolls.stream()
-                .map(Payroll::getGrossPay)
+        return toPreviewResponseFromInfos(employeePayrolls, startDate, endDate);
+    }
+
+    /**
+     * Build PayrollPreviewResponse from already converted employee lines
+     */
+    public PayrollPreviewResponse toPreviewResponseFromInfos(
+            List<PayrollPreviewResponse.EmployeePayrollInfo> employeePayrolls,
+            LocalDate startDate,
+            LocalDate endDate) {
+        BigDecimal totalGross = employeePayrolls.stream()
+                .map(PayrollPreviewResponse.EmployeePayrollInfo::getGrossPay)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        BigDecimal totalNet = payrolls.stream()
-                .map(Payroll::getNetPay)
+        BigDecimal totalNet = employeePayrolls.stream()
+                .map(PayrollPreviewResponse.EmployeePayrollInfo::getNetPay)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return PayrollPreviewResponse.builder()
@@ -144,7 +144,31 @@ public class PayrollMapper {
                 .employees(employeePayrolls)
                 .totalGrossPay(totalGross)
                 .totalNetPay(totalNet)
-                .employeeCount(payrolls.size())
+                .employeeCount(employeePayrolls.size())
+                .build();
+    }
+
+    /**
+     * Convert PayrollJob entity to PayrollJobResponse DTO
+     */
+    public PayrollJobResponse toJobResponse(PayrollJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        return PayrollJobResponse.builder()
+                .jobId(job.getId())
+                .weekStartDate(job.getWeekStartDate())
+                .weekEndDate(job.getWeekEndDate())
+                .paymentDate(job.getPaymentDate())
+                .status(job.getStatus())
+                .totalCount(job.getTotalCount())
+                .processedCount(job.getProcessedCount())
+                .totalAmount(job.getTotalAmount())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
                 .build();
     }
 }
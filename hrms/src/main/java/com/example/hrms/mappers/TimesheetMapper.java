@@ -37,6 +37,7 @@ public class TimesheetMapper {
                 .entries(toEntryResponseList(timesheet.getEntries()))
                 .createdAt(timesheet.getCreatedAt())
                 .updatedAt(timesheet.getUpdatedAt())
+                .version(timesheet.getVersion())
                 .build();
     }
 
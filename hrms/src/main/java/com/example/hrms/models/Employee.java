@@ -89,6 +89,11 @@ public class Employee {
     @Builder.Default
     private List<RefreshToken> refreshTokens = new ArrayList<>();
 
+    // Concurrent updates to the same employee fail instead of overwriting each other.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
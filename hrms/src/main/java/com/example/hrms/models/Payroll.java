@@ -24,8 +24,10 @@ import java.time.LocalDateTime;
 
 public class Payroll {
 
+    // Sequence ids (pooled, allocationSize matches hibernate.jdbc.batch_size) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_seq")
+    @SequenceGenerator(name = "payroll_seq", sequenceName = "payroll_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -71,6 +73,11 @@ public class Payroll {
     @Column(name = "payment_date")
     private LocalDate paymentDate;
 
+    // Concurrent processing or payment of the same payroll fails instead of overwriting.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
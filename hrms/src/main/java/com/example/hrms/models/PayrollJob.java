@@ -0,0 +1,116 @@
+package com.example.hrms.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Table(name = "payroll_jobs",
+        indexes = {
+                @Index(name = "idx_payroll_job_status", columnList = "status"),
+                @Index(name = "idx_payroll_job_week", columnList = "week_start_date")
+        }
+)
+
+public class PayrollJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "week_start_date", nullable = false)
+    private LocalDate weekStartDate;
+
+    @Column(name = "week_end_date", nullable = false)
+    private LocalDate weekEndDate;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "processed_by", nullable = false)
+    private Employee processedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private PayrollJobStatus status = PayrollJobStatus.QUEUED;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_count", nullable = false)
+    @Builder.Default
+    private Integer totalCount = 0;
+
+    @Column(name = "processed_count", nullable = false)
+    @Builder.Default
+    private Integer processedCount = 0;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    // Resume cursor: id of the last timesheet written by a committed chunk
+    @Column(name = "last_timesheet_id")
+    private Long lastTimesheetId;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    // Guards against two workers committing chunks for the same job
+    @Version
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Helper methods
+    public void recordChunk(Long lastTimesheetId, int count, BigDecimal amount) {
+        this.status = PayrollJobStatus.RUNNING;
+        this.lastTimesheetId = lastTimesheetId;
+        this.processedCount += count;
+        this.totalAmount = this.totalAmount.add(amount);
+    }
+
+    public void complete() {
+        this.status = PayrollJobStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+        this.errorMessage = null;
+    }
+
+    public void fail(String errorMessage) {
+        this.status = PayrollJobStatus.FAILED;
+        this.errorMessage = errorMessage != null && errorMessage.length() > 1000
+                ? errorMessage.substring(0, 1000) : errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollJob{" +
+                "id=" + id +
+                ", weekStartDate=" + weekStartDate +
+                ", status=" + status +
+                ", processedCount=" + processedCount +
+                ", totalCount=" + totalCount +
+                '}';
+    }
+}
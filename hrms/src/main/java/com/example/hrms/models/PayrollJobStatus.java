@@ -0,0 +1,22 @@
+package com.example.hrms.models;
+
+public enum PayrollJobStatus {
+    QUEUED("Queued"),
+    RUNNING("Running"),
+    COMPLETED("Completed"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    PayrollJobStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
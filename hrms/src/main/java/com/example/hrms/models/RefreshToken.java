@@ -4,14 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
 @Table(name = "refresh_tokens",
         indexes = {
-                @Index(name = "idx_refresh_token", columnList = "token"),
-                @Index(name = "idx_refresh_token_employee", columnList = "employee_id")
+                @Index(name = "idx_refresh_token_employee_active", columnList = "employee_id, revoked, created_at"),
+                @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date")
         }
 )
 @Data
@@ -28,7 +28,12 @@ public class RefreshToken {
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @Column(nullable = false, unique = true, length = 512)
+    // SHA-256 of the token; the token itself is only ever held by the client
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
+    // Plain token, set only on the instance returned when the token is created
+    @Transient
     private String token;
 
     @Column(name = "expiry_date", nullable = false)
@@ -42,6 +47,10 @@ public class RefreshToken {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Set when the token was exchanged for a new one; presenting it again means it was stolen
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
     // Helper methods
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expiryDate);
@@ -55,11 +64,15 @@ public class RefreshToken {
         this.revoked = true;
     }
 
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
+
     @Override
     public String toString() {
         return "RefreshToken{" +
                 "id=" + id +
-                ", token='" + token.substring(0, 20) + "...'" +
+                ", tokenHash='" + HexFormat.of().formatHex(tokenHash, 0, 8) + "...'" +
                 ", expiryDate=" + expiryDate +
                 ", revoked=" + revoked +
                 '}';
@@ -68,6 +68,12 @@ public class Timesheet {
     @Builder.Default
     private List<TimesheetEntry> entries = new ArrayList<>();
 
+    // Concurrent edits and reviews fail instead of overwriting each other; surfaced as the ETag.
+    // Rows that predate the column start at 0. Leave it null on new entities so save() persists them
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -76,17 +82,21 @@ public class Timesheet {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // Helper methods
+    // Helper methods; call calculateTotalHours() once after adding or removing entries
     public void addEntry(TimesheetEntry entry) {
         entries.add(entry);
         entry.setTimesheet(this);
-        calculateTotalHours();
     }
 
     public void removeEntry(TimesheetEntry entry) {
         entries.remove(entry);
         entry.setTimesheet(null);
-        calculateTotalHours();
+    }
+
+    // Entries are versioned through their timesheet: an entry edited in place leaves this row untouched,
+    // so dirty it to increment the version (and the ETag) on flush
+    public void markEntriesChanged() {
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void calculateTotalHours() {
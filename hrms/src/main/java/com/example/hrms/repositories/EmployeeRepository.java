@@ -5,23 +5,37 @@ package com.example.hrms.repositories;
 
 import com.example.hrms.models.Employee;
 import com.example.hrms.models.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
 
     Optional<Employee> findByUsername(String username);
     Optional<Employee> findByEmail(String email);
     Optional<Employee> findByEmployeeId(String employeeId);
     boolean existsByUsername(String username);
+
+    // Replace a password hash only if it is still the one that was read (rehash after login)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.password = :newPassword, e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
     boolean existsByEmail(String email);
     boolean existsByEmployeeId(String employeeId);
     List<Employee> findByRole(Role role);
@@ -32,6 +46,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e from Employee e WHERE e.manager.id = :managerId AND e.isActive = true")
     List<Employee> findActiveEmployeesByManagerId(@Param("managerId") Long managerId);
 
+    //id, manager id and active flag of every employee, for the org-chart index
+    @Query("SELECT e.id, m.id, e.isActive FROM Employee e LEFT JOIN e.manager m")
+    List<Object[]> findReportingLines();
+
     //find all active employees
     List<Employee> findByIsActiveTrue();
 
@@ -43,6 +61,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             "LOWER(e.employeeId) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Employee> searchEmployees(@Param("search") String search, Pageable pageable);
 
+    //load a page of search results with their managers, in any order
+    @EntityGraph(attributePaths = "manager")
+    List<Employee> findWithManagerByIdIn(Collection<Long> ids);
+
     //find all employees
     Page<Employee> findAll(Pageable pageable);
 
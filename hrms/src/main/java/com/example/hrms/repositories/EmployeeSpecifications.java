@@ -0,0 +1,20 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.Employee;
+import com.example.hrms.models.Role;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria equivalents of the employee listing filters, for queries that need a
+ * {@link Specification} (e.g. keyset scrolling).
+ */
+public class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+        // Utility class
+    }
+
+    public static Specification<Employee> hasRole(Role role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+}
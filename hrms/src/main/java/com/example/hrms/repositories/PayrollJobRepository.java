@@ -0,0 +1,25 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.PayrollJob;
+import com.example.hrms.models.PayrollJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, Long> {
+
+
+     // Jobs that were queued or running when the application stopped
+
+    List<PayrollJob> findByStatusInOrderByIdAsc(Collection<PayrollJobStatus> statuses);
+
+
+     // Check if a job for the week is already queued or running
+
+    boolean existsByWeekStartDateAndStatusIn(LocalDate weekStartDate, Collection<PayrollJobStatus> statuses);
+
+}
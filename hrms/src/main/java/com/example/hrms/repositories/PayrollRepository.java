@@ -3,16 +3,18 @@ package com.example.hrms.repositories;
 import com.example.hrms.models.Payroll;
 import com.example.hrms.models.PayrollStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+public interface PayrollRepository extends JpaRepository<Payroll, Long>, PayrollRepositoryCustom {
 
 
      // Find payroll by employee and pay period
@@ -59,6 +61,23 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
             Long employeeId, LocalDate payPeriodStart, LocalDate payPeriodEnd);
 
 
+     // Check if payroll with a given status exists for a period
+
+    boolean existsByPayPeriodStartAndPayPeriodEndAndStatus(
+            LocalDate payPeriodStart, LocalDate payPeriodEnd, PayrollStatus status);
+
+
+     // Employees (out of the given ones) that already have a payroll with a given status for a period
+
+    @Query("SELECT p.employee.id FROM Payroll p WHERE p.employee.id IN :employeeIds " +
+            "AND p.payPeriodStart = :startDate AND p.payPeriodEnd = :endDate AND p.status IN :statuses")
+    List<Long> findEmployeeIdsWithPayrollForPeriod(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("statuses") Collection<PayrollStatus> statuses);
+
+
      // Calculate total payroll amount for a period
 
     @Query("SELECT SUM(p.netPay) FROM Payroll p WHERE p.payPeriodStart = :startDate " +
@@ -81,7 +100,9 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
     long countByStatus(PayrollStatus status);
 
 
-     // Delete preview payrolls
-    void deleteByStatus(PayrollStatus status);
+     // Delete preview payrolls (single bulk DELETE instead of load-and-remove per row)
+    @Modifying
+    @Query("DELETE FROM Payroll p WHERE p.status = :status")
+    int deleteByStatus(@Param("status") PayrollStatus status);
 
 }
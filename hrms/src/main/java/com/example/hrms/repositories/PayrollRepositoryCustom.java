@@ -0,0 +1,14 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.Payroll;
+
+import java.util.List;
+
+public interface PayrollRepositoryCustom {
+
+    /**
+     * Persists new payroll rows in JDBC batches, flushing and clearing the persistence
+     * context after each batch so large runs do not accumulate managed entities.
+     */
+    void insertInBatches(List<Payroll> payrolls);
+}
@@ -12,18 +12,35 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenRepositoryCustom {
 
 
-     // Find refresh token by token string
+     // Find refresh token by token hash, with its employee
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.employee WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
 
-     // Find all valid tokens for an employee
+     // Hashes of unexpired tokens the database still has to answer for, for the in-memory refresh
+     // token filter: usable ones, and rotated ones so a replay reaches reuse detection
+
+    @Query("SELECT rt.tokenHash FROM RefreshToken rt WHERE rt.expiryDate > :now " +
+            "AND (rt.revoked = false OR rt.rotatedAt IS NOT NULL)")
+    List<byte[]> findKnownTokenHashes(@Param("now") LocalDateTime now);
+
+
+     // Count the tokens findKnownTokenHashes returns
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.expiryDate > :now " +
+            "AND (rt.revoked = false OR rt.rotatedAt IS NOT NULL)")
+    long countKnownTokens(@Param("now") LocalDateTime now);
+
+
+     // Find all valid tokens (active sessions) for an employee, newest first
 
     @Query("SELECT rt FROM RefreshToken rt WHERE rt.employee.id = :employeeId " +
-            "AND rt.revoked = false AND rt.expiryDate > :now")
+            "AND rt.revoked = false AND rt.expiryDate > :now " +
+            "ORDER BY rt.createdAt DESC, rt.id DESC")
     List<RefreshToken> findValidTokensByEmployeeId(
             @Param("employeeId") Long employeeId,
             @Param("now") LocalDateTime now);
@@ -37,28 +54,48 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      // Revoke all tokens for an employee (logout from all devices)
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employee.id = :employeeId")
-    void revokeAllTokensByEmployeeId(@Param("employeeId") Long employeeId);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.employee.id = :employeeId AND rt.revoked = false")
+    int revokeAllTokensByEmployeeId(@Param("employeeId") Long employeeId);
 
 
-     // Delete expired tokens
+     // Revoke the given tokens in one statement
 
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.id IN :ids AND rt.revoked = false")
+    int revokeTokensByIds(@Param("ids") List<Long> ids);
+
 
+     // Delete up to batchSize expired tokens; returns the number deleted
 
-     //  Delete revoked tokens
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.revoked = true")
-    void deleteRevokedTokens();
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE expiry_date < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+
+     // Delete up to batchSize revoked tokens; returns the number deleted. Rotated tokens are kept until
+     // they expire, so presenting one again is still detected as reuse
+
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE revoked = true AND rotated_at IS NULL LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteRevokedBatch(@Param("batchSize") int batchSize);
+
+
+     // Count tokens waiting to be purged
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt " +
+            "WHERE (rt.revoked = true AND rt.rotatedAt IS NULL) OR rt.expiryDate < :now")
+    long countPurgeableTokens(@Param("now") LocalDateTime now);
 
 
      // Check if token exists and is valid
 
     @Query("SELECT CASE WHEN COUNT(rt) > 0 THEN true ELSE false END FROM RefreshToken rt " +
-            "WHERE rt.token = :token AND rt.revoked = false AND rt.expiryDate > :now")
-    boolean existsByTokenAndValid(@Param("token") String token, @Param("now") LocalDateTime now);
+            "WHERE rt.tokenHash = :tokenHash AND rt.revoked = false AND rt.expiryDate > :now")
+    boolean existsByTokenHashAndValid(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
 
 
      // Count valid tokens for employee
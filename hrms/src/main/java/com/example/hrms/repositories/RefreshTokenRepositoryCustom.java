@@ -0,0 +1,16 @@
+package com.example.hrms.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepositoryCustom {
+
+    /**
+     * Revokes a refresh token for rotation if it is still valid, in one conditional UPDATE that
+     * also returns the owner. Of two concurrent rotations of the same token only one succeeds.
+     *
+     * @return the revoked token's owner and expiry, or empty if the token does not exist, has
+     *         expired, or was already revoked
+     */
+    Optional<RotatedRefreshToken> revokeForRotation(byte[] tokenHash, LocalDateTime now);
+}
@@ -0,0 +1,45 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryImpl implements RefreshTokenRepositoryCustom {
+
+    // The revoked = false condition makes the UPDATE the check: a concurrent rotation of the
+    // same token blocks on the row lock, then matches nothing
+    private static final String REVOKE_FOR_ROTATION_SQL = """
+            UPDATE refresh_tokens rt
+            SET revoked = true, rotated_at = :now
+            FROM employees e
+            WHERE rt.token_hash = :tokenHash
+              AND rt.revoked = false
+              AND rt.expiry_date > :now
+              AND e.id = rt.employee_id
+            RETURNING rt.employee_id, e.username, e.role, rt.expiry_date
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Optional<RotatedRefreshToken> revokeForRotation(byte[] tokenHash, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tokenHash", tokenHash)
+                .addValue("now", now);
+
+        return jdbcTemplate.query(REVOKE_FOR_ROTATION_SQL, params, (rs, rowNum) -> new RotatedRefreshToken(
+                        rs.getLong("employee_id"),
+                        rs.getString("username"),
+                        Role.valueOf(rs.getString("role")),
+                        rs.getTimestamp("expiry_date").toLocalDateTime()))
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * What rotation needs to know about a refresh token it just revoked: who it belonged to, and
+ * when it would have expired.
+ */
+public record RotatedRefreshToken(Long employeeId, String username, Role role, LocalDateTime expiryDate) {
+}
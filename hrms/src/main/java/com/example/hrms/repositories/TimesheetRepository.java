@@ -1,26 +1,58 @@
 package com.example.hrms.repositories;
 
+import com.example.hrms.dto.TimesheetListResponse;
+import com.example.hrms.models.Employee;
 import com.example.hrms.models.Timesheet;
 import com.example.hrms.models.TimesheetStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
-public interface TimesheetRepository extends JpaRepository<Timesheet, Long> {
+public interface TimesheetRepository extends JpaRepository<Timesheet, Long>, TimesheetRepositoryCustom {
 
     Optional<Timesheet> findByEmployeeIdAndWeekStartDate(Long employeeId, LocalDate weekStartDate);
 
     List<Timesheet> findByEmployeeIdOrderByWeekStartDateDesc(Long employeeId);
 
+
+     // Detail views: everything TimesheetMapper.toResponse touches, in one statement.
+     // payInfo/contactInfo are inverse one-to-ones, which Hibernate otherwise loads per employee.
+
+    @EntityGraph(attributePaths = {
+            "employee", "employee.payInfo", "employee.contactInfo",
+            "reviewedBy", "reviewedBy.payInfo", "reviewedBy.contactInfo",
+            "entries"})
+    @Query("SELECT t FROM Timesheet t WHERE t.id = :id")
+    Optional<Timesheet> findDetailedById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {
+            "employee", "employee.payInfo", "employee.contactInfo",
+            "reviewedBy", "reviewedBy.payInfo", "reviewedBy.contactInfo",
+            "entries"})
+    @Query("SELECT t FROM Timesheet t WHERE t.employee.id = :employeeId AND t.weekStartDate = :weekStartDate")
+    Optional<Timesheet> findDetailedByEmployeeIdAndWeekStartDate(@Param("employeeId") Long employeeId,
+                                                                 @Param("weekStartDate") LocalDate weekStartDate);
+
+    @EntityGraph(attributePaths = {
+            "employee", "employee.payInfo", "employee.contactInfo",
+            "reviewedBy", "reviewedBy.payInfo", "reviewedBy.contactInfo",
+            "entries"})
+    @Query("SELECT t FROM Timesheet t WHERE t.employee.id = :employeeId ORDER BY t.weekStartDate DESC")
+    List<Timesheet> findDetailedByEmployeeIdOrderByWeekStartDateDesc(@Param("employeeId") Long employeeId);
+
     //find current/latest timesheet for an employee
     @Query("SELECT t FROM Timesheet t WHERE t.employee.id = :employeeId " + "ORDER BY t.weekStartDate DESC LIMIT 1")
     Optional<Timesheet> findCurrentTimesheetByEmployeeId(@Param("employeeId") Long employeeId);
@@ -39,14 +71,52 @@ public interface TimesheetRepository extends JpaRepository<Timesheet, Long> {
 
      // Find submitted timesheets for manager's direct reports (paginated)
 
-    @Query("SELECT t FROM Timesheet t WHERE t.employee.manager.id = :managerId " +
-            "AND t.status = :status ORDER BY t.submittedAt ASC")
-    Page<Timesheet> findTimesheetsByManagerIdAndStatus(
+    // Projected straight into the list DTO: no entities, persistence context or dirty checking.
+    // The count query only joins what the filter needs.
+    @Query(value = "SELECT new com.example.hrms.dto.TimesheetListResponse(" +
+            "t.id, CONCAT(e.firstName, ' ', e.lastName), e.employeeId, t.weekStartDate, " +
+            "t.weekEndDate, t.totalHours, t.status, t.submittedAt) " +
+            "FROM Timesheet t JOIN t.employee e " +
+            "WHERE e.manager.id = :managerId AND t.status = :status ORDER BY t.submittedAt ASC",
+            countQuery = "SELECT COUNT(t.id) FROM Timesheet t JOIN t.employee e " +
+                    "WHERE e.manager.id = :managerId AND t.status = :status")
+    Page<TimesheetListResponse> findTimesheetQueueByManagerIdAndStatus(
             @Param("managerId") Long managerId,
             @Param("status") TimesheetStatus status,
             Pageable pageable);
 
 
+     // Keyset variants of the queue, ordered by (submittedAt, id); pass PageRequest.of(0, limit)
+
+    @Query("SELECT new com.example.hrms.dto.TimesheetListResponse(" +
+            "t.id, CONCAT(e.firstName, ' ', e.lastName), e.employeeId, t.weekStartDate, " +
+            "t.weekEndDate, t.totalHours, t.status, t.submittedAt) " +
+            "FROM Timesheet t JOIN t.employee e " +
+            "WHERE e.manager.id = :managerId AND t.status = :status " +
+            "ORDER BY t.submittedAt ASC, t.id ASC")
+    List<TimesheetListResponse> findTimesheetQueueFirstPage(
+            @Param("managerId") Long managerId,
+            @Param("status") TimesheetStatus status,
+            Pageable limit);
+
+    @Query("SELECT new com.example.hrms.dto.TimesheetListResponse(" +
+            "t.id, CONCAT(e.firstName, ' ', e.lastName), e.employeeId, t.weekStartDate, " +
+            "t.weekEndDate, t.totalHours, t.status, t.submittedAt) " +
+            "FROM Timesheet t JOIN t.employee e " +
+            "WHERE e.manager.id = :managerId AND t.status = :status " +
+            "AND (t.submittedAt > :afterSubmittedAt " +
+            "OR (t.submittedAt = :afterSubmittedAt AND t.id > :afterId)) " +
+            "ORDER BY t.submittedAt ASC, t.id ASC")
+    List<TimesheetListResponse> findTimesheetQueueAfter(
+            @Param("managerId") Long managerId,
+            @Param("status") TimesheetStatus status,
+            @Param("afterSubmittedAt") LocalDateTime afterSubmittedAt,
+            @Param("afterId") Long afterId,
+            Pageable limit);
+
+    long countByEmployeeManagerIdAndStatus(Long managerId, TimesheetStatus status);
+
+
      // Find timesheets by date range
 
     @Query("SELECT t FROM Timesheet t WHERE t.weekStartDate >= :startDate " +
@@ -62,11 +132,87 @@ public interface TimesheetRepository extends JpaRepository<Timesheet, Long> {
     List<Timesheet> findApprovedTimesheetsByWeek(@Param("weekStartDate") LocalDate weekStartDate);
 
 
+     // Approved timesheets for a payroll run with employee and pay info loaded in the same query.
+     // contactInfo is fetched too: inverse one-to-ones are otherwise loaded eagerly per employee.
+
+    @Query("SELECT t FROM Timesheet t JOIN FETCH t.employee e " +
+            "LEFT JOIN FETCH e.payInfo LEFT JOIN FETCH e.contactInfo " +
+            "WHERE t.status = 'APPROVED' AND t.weekStartDate = :weekStartDate")
+    List<Timesheet> findApprovedTimesheetsWithPayInfoByWeek(@Param("weekStartDate") LocalDate weekStartDate);
+
+
+     // Same as above, limited to the given employees (used to refresh single preview lines)
+
+    @Query("SELECT t FROM Timesheet t JOIN FETCH t.employee e " +
+            "LEFT JOIN FETCH e.payInfo LEFT JOIN FETCH e.contactInfo " +
+            "WHERE t.status = 'APPROVED' AND t.weekStartDate = :weekStartDate " +
+            "AND e.id IN :employeeIds")
+    List<Timesheet> findApprovedTimesheetsWithPayInfoByWeekAndEmployeeIds(
+            @Param("weekStartDate") LocalDate weekStartDate,
+            @Param("employeeIds") Collection<Long> employeeIds);
+
+
+     // Next chunk of approved timesheets for a payroll job, keyed on id so a job can resume after a crash
+
+    @Query("SELECT t FROM Timesheet t JOIN FETCH t.employee e " +
+            "LEFT JOIN FETCH e.payInfo LEFT JOIN FETCH e.contactInfo " +
+            "WHERE t.status = 'APPROVED' AND t.weekStartDate = :weekStartDate " +
+            "AND t.id > :afterId ORDER BY t.id")
+    List<Timesheet> findApprovedTimesheetChunk(@Param("weekStartDate") LocalDate weekStartDate,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+
+     // Count approved timesheets for a week
+
+    long countByStatusAndWeekStartDate(TimesheetStatus status, LocalDate weekStartDate);
+
+
      // Count timesheets by status for an employee
 
     long countByEmployeeIdAndStatus(Long employeeId, TimesheetStatus status);
 
 
+     // Version only, so conditional GETs can answer 304 without loading the timesheet
+
+    @Query("SELECT t.version FROM Timesheet t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT t.version FROM Timesheet t WHERE t.id = :id AND t.employee.manager.id = :managerId")
+    Optional<Long> findVersionByIdAndManagerId(@Param("id") Long id, @Param("managerId") Long managerId);
+
+
+     // Ownership and status of a set of timesheets, for bulk review
+
+    @Query("SELECT t.id AS id, e.id AS employeeId, m.id AS managerId, " +
+            "t.weekStartDate AS weekStartDate, t.status AS status " +
+            "FROM Timesheet t JOIN t.employee e LEFT JOIN e.manager m WHERE t.id IN :ids")
+    List<TimesheetReviewCandidate> findReviewCandidates(@Param("ids") Collection<Long> ids);
+
+
+     // Review many submitted timesheets in one statement; rows no longer SUBMITTED are skipped
+
+    @Modifying
+    @Query("UPDATE Timesheet t SET t.status = :status, t.reviewedBy = :reviewer, " +
+            "t.reviewedAt = :reviewedAt, t.denialReason = :reason, t.updatedAt = :reviewedAt, " +
+            "t.version = t.version + 1 " +
+            "WHERE t.id IN :ids AND t.status = 'SUBMITTED'")
+    int reviewSubmittedTimesheets(@Param("ids") Collection<Long> ids,
+                                  @Param("status") TimesheetStatus status,
+                                  @Param("reviewer") Employee reviewer,
+                                  @Param("reviewedAt") LocalDateTime reviewedAt,
+                                  @Param("reason") String reason);
+
+
+     // Which of the given timesheets a bulk review actually changed
+
+    @Query("SELECT t.id FROM Timesheet t WHERE t.id IN :ids AND t.reviewedBy = :reviewer " +
+            "AND t.reviewedAt = :reviewedAt")
+    List<Long> findIdsReviewedAt(@Param("ids") Collection<Long> ids,
+                                 @Param("reviewer") Employee reviewer,
+                                 @Param("reviewedAt") LocalDateTime reviewedAt);
+
+
      // Count pending timesheets for manager
 
     @Query("SELECT COUNT(t) FROM Timesheet t WHERE t.employee.manager.id = :managerId " +
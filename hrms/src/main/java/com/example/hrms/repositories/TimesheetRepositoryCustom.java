@@ -0,0 +1,22 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.dto.TimesheetListResponse;
+import com.example.hrms.models.TimesheetStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TimesheetRepositoryCustom {
+
+    /**
+     * A page of a manager's subtree timesheets together with the subtree's pending count.
+     */
+    record SubtreeTimesheetPage(Page<TimesheetListResponse> timesheets, long pendingCount) {
+    }
+
+    /**
+     * Loads one page of timesheets for every employee below the manager, directly or through
+     * other managers, ordered by submission time and then id. The subtree is resolved with a
+     * recursive query, and the page, its total and the pending count come back in one statement.
+     */
+    SubtreeTimesheetPage findSubtreeTimesheets(Long managerId, TimesheetStatus status, Pageable pageable);
+}
@@ -0,0 +1,85 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.dto.TimesheetListResponse;
+import com.example.hrms.models.TimesheetStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TimesheetRepositoryImpl implements TimesheetRepositoryCustom {
+
+    // UNION rather than UNION ALL, so a reporting cycle ends the recursion instead of looping.
+    // The counts row is always present; the page is left-joined onto it and may be empty.
+    private static final String SUBTREE_TIMESHEETS_SQL = """
+            WITH RECURSIVE team (id) AS (
+                SELECT e.id FROM employees e WHERE e.manager_id = :managerId
+                UNION
+                SELECT e.id FROM employees e JOIN team ON e.manager_id = team.id
+            ),
+            team_timesheets AS (
+                SELECT t.* FROM timesheets t JOIN team ON t.employee_id = team.id
+            )
+            SELECT c.total_count, c.pending_count,
+                   p.id, p.employee_name, p.employee_code, p.week_start_date, p.week_end_date,
+                   p.total_hours, p.status, p.submitted_at
+            FROM (
+                SELECT COUNT(*) FILTER (WHERE status = :status) AS total_count,
+                       COUNT(*) FILTER (WHERE status = 'SUBMITTED') AS pending_count
+                FROM team_timesheets
+            ) c
+            LEFT JOIN (
+                SELECT t.id, e.first_name || ' ' || e.last_name AS employee_name,
+                       e.employee_id AS employee_code, t.week_start_date, t.week_end_date,
+                       t.total_hours, t.status, t.submitted_at
+                FROM team_timesheets t JOIN employees e ON e.id = t.employee_id
+                WHERE t.status = :status
+                ORDER BY t.submitted_at, t.id
+                LIMIT :limit OFFSET :offset
+            ) p ON TRUE
+            ORDER BY p.submitted_at, p.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public SubtreeTimesheetPage findSubtreeTimesheets(Long managerId, TimesheetStatus status, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("managerId", managerId)
+                .addValue("status", status.name())
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<TimesheetListResponse> content = new ArrayList<>();
+        long[] counts = new long[2];
+
+        jdbcTemplate.query(SUBTREE_TIMESHEETS_SQL, params, rs -> {
+            counts[0] = rs.getLong("total_count");
+            counts[1] = rs.getLong("pending_count");
+
+            long id = rs.getLong("id");
+            if (rs.wasNull()) {
+                return;
+            }
+            content.add(TimesheetListResponse.builder()
+                    .id(id)
+                    .employeeName(rs.getString("employee_name"))
+                    .employeeId(rs.getString("employee_code"))
+                    .weekStartDate(rs.getObject("week_start_date", LocalDate.class))
+                    .weekEndDate(rs.getObject("week_end_date", LocalDate.class))
+                    .totalHours(rs.getBigDecimal("total_hours"))
+                    .status(TimesheetStatus.valueOf(rs.getString("status")))
+                    .submittedAt(rs.getObject("submitted_at", LocalDateTime.class))
+                    .build());
+        });
+
+        return new SubtreeTimesheetPage(new PageImpl<>(content, pageable, counts[0]), counts[1]);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.hrms.repositories;
+
+import com.example.hrms.models.TimesheetStatus;
+
+import java.time.LocalDate;
+
+/**
+ * The columns needed to decide whether a manager may review a timesheet.
+ */
+public interface TimesheetReviewCandidate {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    Long getManagerId();
+
+    LocalDate getWeekStartDate();
+
+    TimesheetStatus getStatus();
+}
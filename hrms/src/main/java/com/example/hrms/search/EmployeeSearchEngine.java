@@ -0,0 +1,50 @@
+package com.example.hrms.search;
+
+import com.example.hrms.models.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+
+/**
+ * Finds employees whose first name, last name, email or employee ID contains a search term.
+ * <p>
+ * The implementation is chosen with {@code employee.search.engine}: {@code postgres} (default)
+ * uses trigram and full-text indexes, {@code in-memory} scores employees in process and needs
+ * no database extensions, e.g. for tests on H2.
+ * </p>
+ */
+public interface EmployeeSearchEngine {
+
+    /**
+     * Sort property that orders results by relevance to the search term, best match first.
+     */
+    String RELEVANCE = "relevance";
+
+    /**
+     * Entity properties results can be sorted by, mapped to their column names.
+     */
+    Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "employeeId", "employee_id",
+            "username", "username",
+            "hireDate", "hire_date",
+            "role", "role");
+
+    /**
+     * Searches employees.
+     *
+     * @param term     the search term, matched case-insensitively as a substring
+     * @param pageable page and sort; an unsorted page or {@link #RELEVANCE} ranks by relevance
+     * @return the matching employees in the requested order
+     * @throws com.example.hrms.exceptions.BadRequestException if a sort property is not supported
+     */
+    Page<Employee> search(String term, Pageable pageable);
+
+    static boolean isRelevanceSort(Pageable pageable) {
+        return pageable.getSort().isUnsorted() || pageable.getSort().getOrderFor(RELEVANCE) != null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hrms.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the columns and indexes behind {@link PostgresEmployeeSearchEngine}.
+ * <p>
+ * {@code search_text} (lower-cased names, email and employee ID) and {@code search_vector} are
+ * generated columns, so they stay in step with every insert and update without Hibernate knowing
+ * about them. {@code search_text} gets a {@code pg_trgm} GIN index, which serves the
+ * {@code LIKE '%term%'} filter, and {@code search_vector} a GIN index for ranking. Every statement
+ * is idempotent. If any of them fails (e.g. the database user may not create extensions) search
+ * falls back to the plain {@code LIKE} query.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "employee.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSearchIndexInitializer implements ApplicationRunner {
+
+    private static final String SEARCH_DOCUMENT =
+            "first_name || ' ' || last_name || ' ' || email || ' ' || employee_id";
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "ALTER TABLE employees ADD COLUMN IF NOT EXISTS search_text text " +
+                    "GENERATED ALWAYS AS (lower(" + SEARCH_DOCUMENT + ")) STORED",
+            "ALTER TABLE employees ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (to_tsvector('simple', " + SEARCH_DOCUMENT + ")) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_employee_search_trgm ON employees " +
+                    "USING gin (search_text gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_employee_search_vector ON employees " +
+                    "USING gin (search_vector)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            STATEMENTS.forEach(jdbcTemplate::execute);
+            ready = true;
+            log.debug("Employee search indexes ready");
+        } catch (DataAccessException e) {
+            log.warn("Could not create employee search indexes, using unindexed search: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the search columns and indexes exist.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+}
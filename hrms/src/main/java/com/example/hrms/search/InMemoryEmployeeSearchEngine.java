@@ -0,0 +1,94 @@
+package com.example.hrms.search;
+
+import com.example.hrms.exceptions.BadRequestException;
+import com.example.hrms.models.Employee;
+import com.example.hrms.repositories.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Employee search that scans and ranks every employee in process.
+ * <p>
+ * Matches and orders like {@link PostgresEmployeeSearchEngine}, with {@link TrigramSimilarity}
+ * standing in for the database ranking, but reads the whole table on each search. Meant for
+ * tests and databases without {@code pg_trgm}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "employee.search.engine", havingValue = "in-memory")
+@RequiredArgsConstructor
+public class InMemoryEmployeeSearchEngine implements EmployeeSearchEngine {
+
+    private static final Map<String, Function<Employee, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", Employee::getId,
+            "firstName", Employee::getFirstName,
+            "lastName", Employee::getLastName,
+            "email", Employee::getEmail,
+            "employeeId", Employee::getEmployeeId,
+            "username", Employee::getUsername,
+            "hireDate", Employee::getHireDate,
+            "role", employee -> employee.getRole().name());
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    public Page<Employee> search(String term, Pageable pageable) {
+        String lowerTerm = term.trim().toLowerCase(Locale.ROOT);
+
+        List<Employee> matches = employeeRepository.findAll().stream()
+                .filter(employee -> searchText(employee).contains(lowerTerm))
+                .sorted(comparator(pageable, lowerTerm))
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    private Comparator<Employee> comparator(Pageable pageable, String lowerTerm) {
+        Comparator<Employee> comparator;
+
+        if (EmployeeSearchEngine.isRelevanceSort(pageable)) {
+            comparator = Comparator.comparingDouble(
+                    (Employee employee) -> TrigramSimilarity.similarity(searchText(employee), lowerTerm))
+                    .reversed();
+        } else {
+            comparator = (a, b) -> 0;
+            for (Sort.Order order : pageable.getSort()) {
+                Function<Employee, Comparable<?>> key = SORT_KEYS.get(order.getProperty());
+                if (key == null) {
+                    throw new BadRequestException("Cannot sort search results by: " + order.getProperty());
+                }
+                Comparator<Employee> byKey = Comparator.comparing(
+                        (Employee employee) -> comparable(key.apply(employee)),
+                        Comparator.<Comparable<Object>>nullsLast(Comparator.naturalOrder()));
+                comparator = comparator.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+            }
+        }
+
+        return comparator.thenComparing(Employee::getId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Comparable<?> value) {
+        return (Comparable<Object>) value;
+    }
+
+    // Same document as the search_text column
+    private static String searchText(Employee employee) {
+        return (employee.getFirstName() + " " + employee.getLastName() + " " +
+                employee.getEmail() + " " + employee.getEmployeeId()).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hrms.search;
+
+import com.example.hrms.exceptions.BadRequestException;
+import com.example.hrms.models.Employee;
+import com.example.hrms.repositories.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Employee search on PostgreSQL, backed by the indexes from {@link EmployeeSearchIndexInitializer}.
+ * <p>
+ * Matching employee IDs are selected with a {@code LIKE} on {@code search_text}, which the
+ * trigram index serves, and ranked by full-text rank and then trigram similarity. The page of
+ * employees is then loaded by ID with their managers in one query.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "employee.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresEmployeeSearchEngine implements EmployeeSearchEngine {
+
+    private static final String MATCHES =
+            " FROM employees e WHERE e.search_text LIKE :pattern ESCAPE '\\'";
+
+    private static final String RELEVANCE_ORDER =
+            " ORDER BY ts_rank(e.search_vector, plainto_tsquery('simple', :term)) DESC," +
+                    " similarity(e.search_text, :term) DESC, e.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndexInitializer indexInitializer;
+
+    @Override
+    public Page<Employee> search(String term, Pageable pageable) {
+        if (!indexInitializer.isReady()) {
+            return searchUnindexed(term, pageable);
+        }
+
+        String lowerTerm = term.trim().toLowerCase(Locale.ROOT);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", lowerTerm)
+                .addValue("pattern", "%" + escapeLike(lowerTerm) + "%")
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT e.id" + MATCHES + orderBy(pageable) + " LIMIT :limit OFFSET :offset",
+                params, Long.class);
+
+        return PageableExecutionUtils.getPage(loadInOrder(ids), pageable, () ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*)" + MATCHES, params, Long.class));
+    }
+
+    private String orderBy(Pageable pageable) {
+        if (EmployeeSearchEngine.isRelevanceSort(pageable)) {
+            return RELEVANCE_ORDER;
+        }
+
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Cannot sort search results by: " + order.getProperty());
+            }
+            orderBy.append("e.").append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        return orderBy.append("e.id").toString();
+    }
+
+    private List<Employee> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+
+        return employeeRepository.findWithManagerByIdIn(ids).stream()
+                .sorted(Comparator.comparing(employee -> positions.get(employee.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // Same results as before the indexes existed, without ranking
+    private Page<Employee> searchUnindexed(String term, Pageable pageable) {
+        Pageable sorted = EmployeeSearchEngine.isRelevanceSort(pageable)
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("lastName", "id"))
+                : pageable;
+        return employeeRepository.searchEmployees(term.trim(), sorted);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.hrms.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Java port of PostgreSQL {@code pg_trgm} similarity, so the in-memory search ranks the same
+ * way as the database.
+ * <p>
+ * Text is lower-cased and split into words on anything that is not a letter or digit. Each word
+ * is padded with two spaces in front and one behind before its trigrams are taken. Similarity is
+ * the number of shared trigrams divided by the number of distinct trigrams in either text.
+ * </p>
+ */
+public final class TrigramSimilarity {
+
+    private TrigramSimilarity() {
+        // Utility class
+    }
+
+    public static double similarity(String a, String b) {
+        Set<String> left = trigrams(a);
+        Set<String> right = trigrams(b);
+
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0.0;
+        }
+
+        int shared = 0;
+        for (String trigram : left) {
+            if (right.contains(trigram)) {
+                shared++;
+            }
+        }
+
+        return (double) shared / (left.size() + right.size() - shared);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.hrms.security;
 
+import com.example.hrms.config.JwtClaims;
 import com.example.hrms.config.JwtProperties;
-import com.example.hrms.config.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import jakarta.servlet.FilterChain;
@@ -28,8 +28,8 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProperties jwtProperties;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsServiceImp userDetailsService;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(
@@ -40,14 +40,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            // Signature is verified once per token; repeat requests are served from the cache
+            JwtClaims claims = StringUtils.hasText(jwt) ?
+                    jwtClaimsCache.verify(jwt).orElse(null) : null;
 
-                // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null) {
+                String username = claims.getUsername();
+
+                // Load user details (cached; bounded by security.principal-cache.ttl)
+                UserDetails userDetails = userPrincipalCache.load(username);
 
                 // Get roles from token
-                String rolesString = jwtTokenProvider.getRolesFromToken(jwt);
+                String rolesString = claims.getRoles();
                 List<SimpleGrantedAuthority> authorities = Arrays.stream(rolesString.split(","))
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
@@ -0,0 +1,131 @@
+package com.example.hrms.security;
+
+import com.example.hrms.config.JwtClaims;
+import com.example.hrms.config.JwtProperties;
+import com.example.hrms.config.JwtTokenProvider;
+import com.example.hrms.events.JwtKeysRotatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of verified access-token claims, keyed by the SHA-256 digest of the token.
+ * Entries expire together with the token they were parsed from, so a cached token is never
+ * accepted past its {@code exp} claim. The whole cache is dropped when the JWT keys are
+ * rotated, so a token signed with a removed key stops authenticating at once. Hit, miss and
+ * eviction counts are published under the {@code cache.*} meters with {@code cache=jwtClaims}.
+ */
+@Component
+@Slf4j
+public class JwtClaimsCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final boolean enabled;
+    private final Cache<String, JwtClaims> cache;
+    // Bumped on key rotation; a lookup that straddles one may have verified against the old keys
+    private final AtomicLong keyGeneration = new AtomicLong();
+
+    public JwtClaimsCache(JwtTokenProvider jwtTokenProvider,
+                          JwtProperties jwtProperties,
+                          MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.enabled = jwtProperties.getClaimsCache().isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCache().getMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtClaims");
+    }
+
+    /**
+     * Returns the verified claims for the token, parsing and checking the signature only
+     * on a cache miss. Invalid tokens are never cached.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (!enabled) {
+            return parse(token);
+        }
+
+        long generation = keyGeneration.get();
+        String key = digest(token);
+        JwtClaims claims = cache.get(key, hash -> parse(token).orElse(null));
+        if (generation != keyGeneration.get()) {
+            cache.invalidate(key);
+            return verify(token);
+        }
+        if (claims != null && claims.isExpired()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(claims);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Cached claims may come from a key that was just removed; tokens signed with a kept key simply re-verify
+    @EventListener
+    public void onKeysRotated(JwtKeysRotatedEvent event) {
+        keyGeneration.incrementAndGet();
+        invalidateAll();
+        log.debug("Cleared cached token claims after JWT key rotation (keys: {})", event.keyIds());
+    }
+
+    private Optional<JwtClaims> parse(String token) {
+        try {
+            return Optional.of(jwtTokenProvider.parseAndVerify(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Token rejected: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Expire each entry at the token's own exp claim
+    private static final class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims value, long currentTime) {
+            if (value.getExpiration() == null) {
+                return 0;
+            }
+            long remainingMs = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.hrms.security;
+
+import com.example.hrms.config.PasswordHashingProperties;
+import com.example.hrms.exceptions.ServiceUnavailableException;
+import com.example.hrms.repositories.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The application's {@link PasswordEncoder}: BCrypt, run on a small dedicated thread pool.
+ * <p>
+ * A hash costs tens of milliseconds of CPU. Run inline, a burst of logins occupies every request
+ * thread and core at once and starves every other endpoint. Here at most
+ * {@code security.password-hashing.threads} hashes run at a time; callers wait for their result,
+ * and once {@code queue-capacity} hashes are waiting further logins are refused with 503 and a
+ * {@code Retry-After} instead of piling up. Callers must not hold a database connection while
+ * they wait, or a login burst exhausts the connection pool instead.
+ * </p>
+ * <p>
+ * New hashes use {@code bcrypt-strength}. Each stored hash keeps the cost it was made with, so
+ * changing the strength does not lock anyone out: after a successful login, a hash with a
+ * different cost (higher or lower) is replaced in the background, but only while the pool has
+ * spare capacity.
+ * </p>
+ * <p>
+ * Metrics: {@code auth.password.hash.duration} (per operation), {@code auth.password.hash.wait}
+ * (time queued), {@code auth.password.hash.queue} and {@code auth.password.hash.active} (pool
+ * state), {@code auth.password.hash.rejected} and {@code auth.password.rehashed}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String BUSY_MESSAGE = "Too many sign-ins in progress. Please try again shortly";
+
+    private final EmployeeRepository employeeRepository;
+    private final PasswordHashingProperties properties;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final Counter rehashed;
+
+    public PasswordHashingService(EmployeeRepository employeeRepository,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.encoder = new BCryptPasswordEncoder(properties.getBcryptStrength());
+
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Platform threads: hashing is pure CPU, so virtual threads would gain nothing
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory());
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = Timer.builder("auth.password.hash.wait")
+                .description("Time a password hash waited for a thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashes refused because the pool was saturated")
+                .register(meterRegistry);
+        this.rehashed = Counter.builder("auth.password.rehashed")
+                .description("Stored password hashes replaced after login to match the configured cost")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether the hash was made with a cost other than the configured strength, in either
+     * direction.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != properties.getBcryptStrength();
+    }
+
+    /**
+     * After a successful login, replaces the employee's stored hash if its cost differs from the
+     * configured strength. Runs in the background and only when the pool is at most half full;
+     * otherwise a later login tries again. The hash is only replaced if it has not changed since
+     * it was read, so a concurrent password change wins.
+     *
+     * @param employeeId      the employee who logged in
+     * @param rawPassword     the password that was just verified
+     * @param encodedPassword the stored hash it was verified against
+     */
+    public void rehashIfNeeded(Long employeeId, CharSequence rawPassword, String encodedPassword) {
+        if (!properties.isRehashOnLogin() || !upgradeEncoding(encodedPassword)
+                || executor.getQueue().size() > properties.getQueueCapacity() / 2) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String rehashed = encodeTimer.record(() -> encoder.encode(rawPassword));
+                    if (employeeRepository.updatePasswordIfUnchanged(employeeId, encodedPassword, rehashed) == 1) {
+                        this.rehashed.increment();
+                        log.debug("Rehashed password of employee {} with cost {}",
+                                employeeId, properties.getBcryptStrength());
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Could not rehash password of employee {}: {}", employeeId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Filled up since the check; a later login tries again
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> hash) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE, e);
+        }
+
+        try {
+            return future.get(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash.duration")
+                .description("CPU time of a single password hash")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.hrms.security;
+
+import com.example.hrms.config.RefreshTokenFilterProperties;
+import com.example.hrms.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rejects refresh tokens that cannot be valid without a database query.
+ * <p>
+ * Every issued token hash goes into a bloom filter, so a token that was never issued (guessed,
+ * mangled, or deleted by a purge) is rejected in memory; a small share of them, set by
+ * {@code security.refresh-token-filter.false-positive-rate}, still reaches the database. Revoked
+ * token hashes are kept in a set until the token would have expired, so a replayed token gets
+ * its "revoked" answer without a query as well.
+ * </p>
+ * <p>
+ * The filter is loaded on startup and rebuilt every {@code rebuild-interval} from the tokens
+ * that are still usable or were rotated, which drops expired and otherwise revoked ones; rotated
+ * tokens stay so that presenting one again still reaches reuse detection. Until it is loaded every
+ * token is let through. Tokens issued by another application instance only become known at its
+ * next rebuild and would be rejected until then, so the filter is off by default
+ * ({@code security.refresh-token-filter.enabled}); turn it on only when a single instance uses
+ * the database. While it is off every check lets the token through to the database.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RefreshTokenGuard {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenFilterProperties properties;
+    private final Counter rejectedUnknown;
+    private final Counter rejectedRevoked;
+    // Guards filter replacement; not synchronized, since the rebuild waits on JDBC
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Revoked token hash -> expiry; kept until the token would have expired anyway
+    private final Map<ByteBuffer, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile BloomFilter issued;
+    // Filter being loaded; tokens issued meanwhile go into both
+    private volatile BloomFilter loading;
+
+    public RefreshTokenGuard(RefreshTokenRepository refreshTokenRepository,
+                             RefreshTokenFilterProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.rejectedUnknown = rejectedCounter(meterRegistry, "unknown");
+        this.rejectedRevoked = rejectedCounter(meterRegistry, "revoked");
+
+        if (properties.isEnabled()) {
+            long interval = properties.getRebuildInterval().toMillis();
+            rebuilder = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("refresh-token-filter").daemon().factory());
+            rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            rebuilder = null;
+        }
+    }
+
+    /**
+     * Whether the token was revoked by this instance.
+     */
+    public boolean isRevoked(byte[] tokenHash) {
+        if (!properties.isEnabled() || !revoked.containsKey(ByteBuffer.wrap(tokenHash))) {
+            return false;
+        }
+        rejectedRevoked.increment();
+        return true;
+    }
+
+    /**
+     * Whether the token may have been issued. {@code false} is definite: the token does not
+     * exist or is no longer usable.
+     */
+    public boolean mightExist(byte[] tokenHash) {
+        BloomFilter filter = issued;
+        if (!properties.isEnabled() || filter == null || filter.mightContain(tokenHash)) {
+            return true;
+        }
+        rejectedUnknown.increment();
+        return false;
+    }
+
+    /**
+     * Records a newly issued token. It is known immediately, so a refresh right after login
+     * works, and added again after commit in case a rebuild read the table in between.
+     */
+    public void issued(byte[] tokenHash) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        add(tokenHash);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(tokenHash);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a revoked token. Inside a transaction this takes effect after commit, so a
+     * rolled-back logout does not lock the token out.
+     */
+    public void revoked(byte[] tokenHash, LocalDateTime expiryDate) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revoked.put(ByteBuffer.wrap(tokenHash), expiryDate);
+                }
+            });
+        } else {
+            revoked.put(ByteBuffer.wrap(tokenHash), expiryDate);
+        }
+    }
+
+    /**
+     * Reloads the filter from the usable and rotated tokens in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revoked.values().removeIf(expiryDate -> expiryDate.isBefore(now));
+
+            long known = refreshTokenRepository.countKnownTokens(now);
+            BloomFilter filter = BloomFilter.sizedFor(
+                    Math.max(properties.getExpectedTokens(), known * 2), properties.getFalsePositiveRate());
+            loading = filter;
+
+            List<byte[]> hashes = refreshTokenRepository.findKnownTokenHashes(now);
+            hashes.forEach(filter::add);
+
+            issued = filter;
+            loading = null;
+            log.info("Refresh token filter loaded: {} tokens, {} revoked, {} KiB",
+                    hashes.size(), revoked.size(), filter.sizeInBytes() / 1024);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    private void add(byte[] tokenHash) {
+        BloomFilter current = issued;
+        BloomFilter next = loading;
+        if (current != null) {
+            current.add(tokenHash);
+        }
+        if (next != null) {
+            next.add(tokenHash);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep the current filter; the next run tries again
+            log.warn("Could not rebuild refresh token filter: {}", e.getMessage());
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.refresh.rejected")
+                .description("Refresh tokens rejected without a database query")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bloom filter over SHA-256 hashes. The hash is already uniform, so its first two words
+     * serve as the two base hashes for double hashing instead of hashing again.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(long bitCount, int hashCount) {
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bitCount + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = hashCount;
+        }
+
+        static BloomFilter sizedFor(long expectedEntries, double falsePositiveRate) {
+            long entries = Math.max(1, expectedEntries);
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int hashes = Math.max(1, (int) Math.round((double) bits / entries * ln2));
+            return new BloomFilter(bits, hashes);
+        }
+
+        void add(byte[] hash) {
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            long h1 = buffer.getLong(0);
+            long h2 = buffer.getLong(8) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(byte[] hash) {
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            long h1 = buffer.getLong(0);
+            long h2 = buffer.getLong(8) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long sizeInBytes() {
+            return bitCount / 8;
+        }
+    }
+}
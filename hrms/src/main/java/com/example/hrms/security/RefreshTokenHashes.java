@@ -0,0 +1,43 @@
+package com.example.hrms.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates refresh tokens and the SHA-256 hashes they are stored and looked up by.
+ * <p>
+ * Tokens are 256 random bits, so a plain hash is enough: there is nothing to brute-force, and
+ * a leaked {@code refresh_tokens} table cannot be replayed.
+ * </p>
+ */
+public final class RefreshTokenHashes {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private RefreshTokenHashes() {
+    }
+
+    /**
+     * A new random token, base64url-encoded (43 characters).
+     */
+    public static String generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
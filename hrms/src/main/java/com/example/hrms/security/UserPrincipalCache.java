@@ -0,0 +1,93 @@
+package com.example.hrms.security;
+
+import com.example.hrms.config.PrincipalCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches the {@link UserDetails} resolved for authenticated requests so the JWT filter does
+ * not query {@code employees} on every call. Entries live for at most
+ * {@code security.principal-cache.ttl}, which bounds how long a deactivated account stays
+ * usable; services that change an employee evict the entry explicitly.
+ *
+ * <p>Login does not go through this cache - {@code DaoAuthenticationProvider} always reads
+ * the current password hash from the database.</p>
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserDetailsServiceImp userDetailsService;
+    private final boolean enabled;
+    private final Cache<String, UserDetails> cache;
+
+    public UserPrincipalCache(UserDetailsServiceImp userDetailsService,
+                              PrincipalCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipals");
+    }
+
+    /**
+     * Returns the principal for the username, loading it from the database on a miss.
+     *
+     * @throws UsernameNotFoundException if the user does not exist or is inactive
+     */
+    public UserDetails load(String username) {
+        if (!enabled) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, this::loadWithoutCredentials);
+    }
+
+    /**
+     * Evicts the cached principal. When called inside a transaction the entry is evicted
+     * again after commit, so a concurrent request cannot re-cache the pre-update row.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+
+        cache.invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        }
+
+        log.debug("Evicted cached principal for user: {}", username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    // Password hashes are not needed after the token is verified, so keep them out of memory
+    private UserDetails loadWithoutCredentials(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return User.withUserDetails(userDetails)
+                .password("")
+                .build();
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.hrms.services;
 
 import com.example.hrms.config.JwtTokenProvider;
+import com.example.hrms.config.SessionProperties;
 import com.example.hrms.dto.*;
 import com.example.hrms.exceptions.BadRequestException;
 import com.example.hrms.exceptions.ResourceNotFoundException;
+import com.example.hrms.exceptions.ServiceUnavailableException;
+import com.example.hrms.exceptions.TokenRefreshException;
 import com.example.hrms.mappers.AuthMapper;
 import com.example.hrms.models.Employee;
 import com.example.hrms.models.RefreshToken;
 import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.security.PasswordHashingService;
+import com.example.hrms.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +22,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +36,10 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
     private final AuthMapper authMapper;
+    private final UserPrincipalCache userPrincipalCache;
+    private final SessionProperties sessionProperties;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Authenticates a user with the provided login credentials, verifies account status,
@@ -39,6 +51,7 @@ public class AuthService {
      *     <li>Loads the corresponding employee record</li>
      *     <li>Validates that the employee account is active</li>
      *     <li>Generates an access token and refresh token</li>
+     *     <li>Queues a rehash if the stored password hash has another cost than configured</li>
      *     <li>Returns an authentication response containing tokens and employee info</li>
      * </ul>
      *
@@ -47,8 +60,10 @@ public class AuthService {
      *
      * @throws ResourceNotFoundException if the employee does not exist
      * @throws BadRequestException if the employee account is inactive
+     * @throws ServiceUnavailableException if too many logins are being verified at once
      */
-    @Transactional
+    // Not transactional: the password check can wait seconds for a hashing thread and must not hold
+    // a connection meanwhile; only the employee lookup and token creation run in a transaction
     public AuthResponse login(LoginRequest loginRequest) {
         log.info("Login attempt for username: {}", loginRequest.getUsername());
 
@@ -62,25 +77,33 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Get employee details
-        Employee employee = employeeRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Employee not found with username: " + loginRequest.getUsername()));
+        LoginSession session = transactionTemplate.execute(status -> {
+            // Get employee details
+            Employee employee = employeeRepository.findByUsername(loginRequest.getUsername())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Employee not found with username: " + loginRequest.getUsername()));
 
-        // Check if employee is active
-        if (!employee.getIsActive()) {
-            throw new BadRequestException("Account is inactive. Please contact administrator.");
-        }
+            // Check if employee is active
+            if (!employee.getIsActive()) {
+                throw new BadRequestException("Account is inactive. Please contact administrator.");
+            }
+
+            RefreshToken refreshToken = refreshTokenService.createRefreshToken(employee.getId());
+            return new LoginSession(employee, refreshToken.getToken());
+        });
+        Employee employee = session.employee();
+
+        // Bring the stored hash to the configured cost, in the background
+        passwordHashingService.rehashIfNeeded(employee.getId(), loginRequest.getPassword(), employee.getPassword());
 
         // Generate tokens
         String accessToken = jwtTokenProvider.generateAccessToken(authentication);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(employee.getId());
 
         log.info("User logged in successfully: {}", employee.getUsername());
 
         return authMapper.toAuthResponse(
                 accessToken,
-                refreshToken.getToken(),
+                session.refreshToken(),
                 jwtTokenProvider.getAccessTokenExpirationInSeconds(),
                 employee
         );
@@ -97,17 +120,35 @@ public class AuthService {
      *     <li>Return updated token response</li>
      * </ol>
      *
+     * <p>With {@code security.sessions.rotate-refresh-tokens} the refresh token is exchanged
+     * for a new one as well (see {@link RefreshTokenService#rotateRefreshToken}).</p>
+     *
      * @param request wrapper containing the refresh token
-     * @return {@link AuthResponse} with a new access token and existing refresh token
+     * @return {@link AuthResponse} with a new access token and the existing or rotated refresh token
      *
      * @throws BadRequestException if token does not exist or is invalid
+     * @throws TokenRefreshException if the token is expired, revoked, or was already rotated
      */
-    @Transactional
+    // Not transactional: with the refresh token filter on, unknown and revoked tokens are rejected before a connection is taken
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         log.debug("Refresh token request received");
 
         String requestRefreshToken = request.getRefreshToken();
 
+        if (sessionProperties.isRotateRefreshTokens()) {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotateRefreshToken(requestRefreshToken);
+            String newAccessToken = jwtTokenProvider.generateAccessTokenFromUsername(
+                    rotation.username(), "ROLE_" + rotation.role().name());
+
+            log.info("Token refreshed for user: {}", rotation.username());
+
+            return authMapper.toRefreshResponse(
+                    newAccessToken,
+                    rotation.refreshToken(),
+                    jwtTokenProvider.getAccessTokenExpirationInSeconds()
+            );
+        }
+
         RefreshToken refreshToken = refreshTokenService.findByToken(requestRefreshToken)
                 .orElseThrow(() -> new BadRequestException("Refresh token not found"));
 
@@ -121,15 +162,11 @@ public class AuthService {
         String newAccessToken = jwtTokenProvider.generateAccessTokenFromUsername(
                 employee.getUsername(), roles);
 
-        // Optionally rotate refresh token for better security
-        // RefreshToken newRefreshToken = refreshTokenService.rotateRefreshToken(requestRefreshToken);
-        // String newRefreshTokenString = newRefreshToken.getToken();
-
         log.info("Token refreshed for user: {}", employee.getUsername());
 
         return authMapper.toRefreshResponse(
                 newAccessToken,
-                requestRefreshToken, // or newRefreshTokenString if rotating
+                requestRefreshToken,
                 jwtTokenProvider.getAccessTokenExpirationInSeconds()
         );
     }
@@ -165,6 +202,7 @@ public class AuthService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         refreshTokenService.revokeAllTokensForEmployee(employee.getId());
+        userPrincipalCache.evict(username);
 
         return new MessageResponse("Logged out from all devices successfully");
     }
@@ -218,6 +256,7 @@ public class AuthService {
         }
 
         employeeRepository.save(employee);
+        userPrincipalCache.evict(username);
 
         log.info("Password reset successfully for user: {}", username);
 
@@ -241,5 +280,24 @@ public class AuthService {
         return employee.getIsFirstLogin();
     }
 
+    /**
+     * Lists the user's active sessions (valid refresh tokens), newest first.
+     *
+     * @param username the username of the employee
+     * @return the active sessions
+     *
+     * @throws ResourceNotFoundException if the employee does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<SessionResponse> getActiveSessions(String username) {
+        Employee employee = employeeRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
+        return refreshTokenService.findActiveSessions(employee.getId()).stream()
+                .map(authMapper::toSessionResponse)
+                .toList();
+    }
+
+    private record LoginSession(Employee employee, String refreshToken) {
+    }
 }
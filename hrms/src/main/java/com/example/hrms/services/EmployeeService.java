@@ -13,17 +13,28 @@ import com.example.hrms.models.PayInfo;
 import com.example.hrms.models.Role;
 import com.example.hrms.repositories.ContactInfoRepository;
 import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.EmployeeSpecifications;
 import com.example.hrms.repositories.PayInfoRepository;
+import com.example.hrms.search.EmployeeSearchEngine;
+import com.example.hrms.security.UserPrincipalCache;
+import com.example.hrms.utils.CursorCodec;
 import com.example.hrms.utils.EmployeeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -37,6 +48,14 @@ public class EmployeeService {
     private final PayInfoMapper payInfoMapper;
     private final PageMapper pageMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache userPrincipalCache;
+    private final PayrollPreviewSnapshot payrollPreviewSnapshot;
+    private final EmployeeSearchEngine employeeSearchEngine;
+    private final OrgChartIndex orgChartIndex;
+
+    // Keyset columns must be non-null and the order total, so only these fields are allowed
+    private static final Set<String> KEYSET_SORT_FIELDS =
+            Set.of("id", "lastName", "firstName", "email", "employeeId", "username", "hireDate");
 
     /**
      * Retrieves an employee by their username.
@@ -88,6 +107,7 @@ public class EmployeeService {
 
     /**
      * Searches employees based on a search query that may match multiple fields.
+     * Sorting by {@value EmployeeSearchEngine#RELEVANCE} (or not sorting) puts the best matches first.
      *
      * @param search   the search term
      * @param pageable pagination and sorting parameters
@@ -97,7 +117,7 @@ public class EmployeeService {
     public PageResponse<EmployeeListResponse> searchEmployees(String search, Pageable pageable) {
         log.debug("Searching employees with term: {}", search);
 
-        Page<Employee> employeePage = employeeRepository.searchEmployees(search, pageable);
+        Page<Employee> employeePage = employeeSearchEngine.search(search, pageable);
         return pageMapper.toPageResponse(employeePage, employeeMapper::toListResponse);
     }
 
@@ -116,6 +136,80 @@ public class EmployeeService {
         return pageMapper.toPageResponse(employeePage, employeeMapper::toListResponse);
     }
 
+    /**
+     * Lists employees with keyset (cursor) pagination, optionally filtered by role.
+     * <p>
+     * Each page continues after the sort keys of the previous page's last row, so deep pages
+     * cost the same as the first and no COUNT runs unless {@code includeTotal} is set.
+     * {@code id} is always appended as a tie-breaker to keep the order stable.
+     * </p>
+     * <p>
+     * Searching is only available with offset pagination ({@link #searchEmployees}), whose
+     * matching and relevance order come from the {@link EmployeeSearchEngine}; a search term
+     * here is rejected rather than matched differently.
+     * </p>
+     *
+     * @param search  must be empty; present so a search term is rejected instead of ignored
+     * @param role    optional role filter
+     * @param request cursor, page size, sort and whether to count
+     * @return a cursor-mode {@link PageResponse}
+     * @throws BadRequestException if a search term is given, the sort field is not usable as a
+     *                             keyset or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<EmployeeListResponse> scrollEmployees(String search, Role role,
+                                                              CursorPageRequest request) {
+        log.debug("Scrolling employees with term: {}, role: {}", search, role);
+
+        if (search != null && !search.trim().isEmpty()) {
+            throw new BadRequestException("Search is not supported with cursor pagination; use offset pagination");
+        }
+
+        Sort sort = keysetSort(request.getSort());
+
+        Specification<Employee> spec = role != null
+                ? EmployeeSpecifications.hasRole(role)
+                : Specification.unrestricted();
+
+        ScrollPosition position = ScrollPosition.keyset();
+        if (request.getCursor() != null) {
+            Map<String, Object> keys = CursorCodec.decode(request.getCursor());
+            List<String> sortProperties = sort.stream().map(Sort.Order::getProperty).toList();
+            if (!keys.keySet().equals(new HashSet<>(sortProperties))) {
+                throw new BadRequestException("Pagination cursor does not match the requested sort");
+            }
+            position = ScrollPosition.forward(keys);
+        }
+
+        ScrollPosition startAt = position;
+        Window<Employee> window = employeeRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(request.getSize())
+                .scroll(startAt));
+
+        Long total = request.isIncludeTotal() ? employeeRepository.count(spec) : null;
+
+        return pageMapper.toCursorPageResponse(window, employeeMapper::toListResponse,
+                request.getSize(), request.getCursor() == null, total);
+    }
+
+    private Sort keysetSort(Sort requested) {
+        Sort sort = requested != null ? requested : Sort.by("lastName");
+
+        for (Sort.Order order : sort) {
+            if (!KEYSET_SORT_FIELDS.contains(order.getProperty())) {
+                throw new BadRequestException("Cursor pagination cannot sort by: " + order.getProperty());
+            }
+        }
+
+        if (sort.getOrderFor("id") == null) {
+            Sort.Direction direction = sort.stream().findFirst()
+                    .map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        return sort;
+    }
+
     /**
      * Retrieves employees who directly report to a specific manager.
      *
@@ -130,6 +224,16 @@ public class EmployeeService {
         return employeeMapper.toResponseList(employees);
     }
 
+    /**
+     * Counts the active employees who directly report to a manager, without loading them.
+     *
+     * @param managerId the manager's ID
+     * @return the number of active direct reports
+     */
+    public int countActiveDirectReports(Long managerId) {
+        return orgChartIndex.countActiveDirectReports(managerId);
+    }
+
     /**
      * Creates a new employee with autogenerated employee ID and temporary password.
      * Also initializes contact info and optionally creates pay info.
@@ -180,6 +284,7 @@ public class EmployeeService {
 
         // Save employee
         Employee savedEmployee = employeeRepository.save(employee);
+        orgChartIndex.employeeSaved(savedEmployee.getId(), request.getManagerId(), true);
 
         // Create pay info if provided
         if (request.getPayInfo() != null) {
@@ -234,6 +339,12 @@ public class EmployeeService {
             Employee manager = employeeRepository.findById(request.getManagerId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Manager not found with ID: " + request.getManagerId()));
+
+            if (manager.getId().equals(employeeId) ||
+                    orgChartIndex.isInReportingLine(employeeId, manager.getId())) {
+                throw new BadRequestException("An employee cannot report to someone in their own reporting line");
+            }
+
             employee.setManager(manager);
         }
 
@@ -241,6 +352,15 @@ public class EmployeeService {
         employeeMapper.updateEntityFromRequest(employee, request);
         employeeRepository.save(employee);
 
+        orgChartIndex.employeeSaved(employeeId,
+                employee.getManager() != null ? employee.getManager().getId() : null,
+                !Boolean.FALSE.equals(employee.getIsActive()));
+
+        // Drop the cached principal so role or deactivation changes apply on the next request
+        userPrincipalCache.evict(employee.getUsername());
+        // The payroll preview shows the employee's name
+        payrollPreviewSnapshot.invalidateEmployee(employeeId);
+
         log.info("Personal info updated for employee: {}", employee.getUsername());
 
         return new MessageResponse("Employee information updated successfully");
@@ -332,7 +452,7 @@ public class EmployeeService {
         // Build stats based on role
         DashboardResponse.DashboardStats stats = DashboardResponse.DashboardStats.builder()
                 .directReportsCount(employee.getRole() == Role.MANAGER || employee.getRole() == Role.ADMIN ?
-                        employeeRepository.findByManagerId(employee.getId()).size() : 0)
+                        orgChartIndex.countDirectReports(employee.getId()) : 0)
                 .build();
 
         return DashboardResponse.builder()
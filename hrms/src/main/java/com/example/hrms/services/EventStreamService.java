@@ -0,0 +1,191 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.EventStreamProperties;
+import com.example.hrms.dto.StreamEvents;
+import com.example.hrms.events.PayrollProcessedEvent;
+import com.example.hrms.events.TimesheetStatusChangedEvent;
+import com.example.hrms.models.TimesheetStatus;
+import com.example.hrms.repositories.TimesheetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes timesheet and payroll changes to connected users over server-sent events.
+ * <p>
+ * Each user holds at most a few open {@link SseEmitter}s. An open stream holds no thread, so
+ * thousands of idle connections cost only their sockets. Services publish
+ * {@link TimesheetStatusChangedEvent} and {@link PayrollProcessedEvent}, and this service picks
+ * them up after commit, so a rolled-back change is never announced. Sends run on virtual threads,
+ * so a slow client never holds up the request that committed the change.
+ * </p>
+ * <p>
+ * Managers get a {@code team-counts} event on connect and after every change to their team's
+ * timesheets. The pending count is queried once per change, and only while the manager is
+ * connected, instead of once per poll per browser tab.
+ * </p>
+ */
+@Service
+@Slf4j
+public class EventStreamService {
+
+    private final TimesheetRepository timesheetRepository;
+    private final OrgChartIndex orgChartIndex;
+    private final EventStreamProperties properties;
+    private final Map<Long, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+    // Managers with a team-counts refresh already queued; later changes ride along with it
+    private final Set<Long> countsRefreshQueued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("event-stream-heartbeat").daemon().factory());
+
+    public EventStreamService(TimesheetRepository timesheetRepository,
+                              OrgChartIndex orgChartIndex,
+                              EventStreamProperties properties) {
+        this.timesheetRepository = timesheetRepository;
+        this.orgChartIndex = orgChartIndex;
+        this.properties = properties;
+
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens an event stream for an employee. Managers and admins immediately receive their
+     * current team counts, so the client needs no initial poll.
+     *
+     * @param employeeId the connecting employee
+     * @param isManager  whether to send team counts
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long employeeId, boolean isManager) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+
+        List<SseEmitter> userStreams = streams.computeIfAbsent(employeeId, id -> new CopyOnWriteArrayList<>());
+        userStreams.add(emitter);
+        while (userStreams.size() > properties.getMaxStreamsPerUser()) {
+            SseEmitter oldest = userStreams.remove(0);
+            oldest.complete();
+        }
+
+        emitter.onCompletion(() -> remove(employeeId, emitter));
+        emitter.onTimeout(() -> remove(employeeId, emitter));
+        emitter.onError(e -> remove(employeeId, emitter));
+
+        if (isManager) {
+            refreshTeamCounts(employeeId);
+        }
+
+        log.debug("Event stream opened for employee {} ({} open)", employeeId, userStreams.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTimesheetStatusChanged(TimesheetStatusChangedEvent event) {
+        // Employees see the outcome of a review; their own submit needs no echo
+        if (event.status() != TimesheetStatus.SUBMITTED) {
+            send(event.employeeId(), "timesheet-status", StreamEvents.TimesheetStatusChanged.builder()
+                    .timesheetId(event.timesheetId())
+                    .status(event.status())
+                    .weekStartDate(event.weekStartDate())
+                    .build());
+        }
+
+        if (event.managerId() != null) {
+            refreshTeamCounts(event.managerId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPayrollProcessed(PayrollProcessedEvent event) {
+        StreamEvents.PayrollProcessed payload = StreamEvents.PayrollProcessed.builder()
+                .payPeriodStart(event.payPeriodStart())
+                .payPeriodEnd(event.payPeriodEnd())
+                .build();
+
+        for (Long employeeId : event.employeeIds()) {
+            send(employeeId, "payroll-processed", payload);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        streams.values().forEach(userStreams -> userStreams.forEach(SseEmitter::complete));
+        sender.shutdown();
+    }
+
+    private void refreshTeamCounts(Long managerId) {
+        if (!streams.containsKey(managerId) || !countsRefreshQueued.add(managerId)) {
+            return;
+        }
+
+        sender.execute(() -> {
+            countsRefreshQueued.remove(managerId);
+            try {
+                long pending = timesheetRepository.countPendingTimesheetsByManagerId(managerId);
+                deliver(managerId, "team-counts", StreamEvents.TeamCounts.builder()
+                        .pendingTimesheetsCount(pending)
+                        .directReportsCount(orgChartIndex.countActiveDirectReports(managerId))
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh team counts for manager {}: {}", managerId, e.getMessage());
+            }
+        });
+    }
+
+    private void send(Long employeeId, String name, Object payload) {
+        if (employeeId != null && streams.containsKey(employeeId)) {
+            sender.execute(() -> deliver(employeeId, name, payload));
+        }
+    }
+
+    private void deliver(Long employeeId, String name, Object payload) {
+        List<SseEmitter> userStreams = streams.get(employeeId);
+        if (userStreams == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : userStreams) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(payload));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through onError/onCompletion too
+                remove(employeeId, emitter);
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        streams.forEach((employeeId, userStreams) -> sender.execute(() -> {
+            for (SseEmitter emitter : userStreams) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(employeeId, emitter);
+                }
+            }
+        }));
+    }
+
+    private void remove(Long employeeId, SseEmitter emitter) {
+        streams.computeIfPresent(employeeId, (id, userStreams) -> {
+            userStreams.remove(emitter);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.OrgChartProperties;
+import com.example.hrms.repositories.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the reporting lines, for manager and direct-report questions that would
+ * otherwise each need a query.
+ * <p>
+ * The chart is held as an immutable snapshot of primitive arrays: employee ids sorted for binary
+ * search, each employee's manager, a compact child list per manager, and a depth-first numbering
+ * in which every manager's transitive reports occupy one contiguous range. Counting direct
+ * reports, checking whether one employee is above another, and listing a subtree therefore need
+ * no database access and no allocation beyond the result.
+ * </p>
+ * <p>
+ * The snapshot is loaded on startup and replaced after commit whenever {@link EmployeeService}
+ * creates an employee or changes a manager or active flag. Changes made outside this application
+ * instance are picked up by {@link #rebuild()}, which runs every
+ * {@code employee.org-chart.rebuild-interval}; until then counts and listings show the
+ * previous reporting lines. Authorization decisions, such as who may review a timesheet, read
+ * the manager from the database instead.
+ * </p>
+ */
+@Component
+@Slf4j
+public class OrgChartIndex {
+
+    private static final long NO_MANAGER = Long.MIN_VALUE;
+
+    private final EmployeeRepository employeeRepository;
+    // Guards snapshot replacement; not synchronized, since rebuild waits on JDBC and would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile Snapshot snapshot;
+
+    public OrgChartIndex(EmployeeRepository employeeRepository, OrgChartProperties properties) {
+        this.employeeRepository = employeeRepository;
+
+        long interval = properties.getRebuildInterval().toMillis();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("org-chart-rebuild").daemon().factory());
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reloads every reporting line from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.lock();
+        try {
+            snapshot = load();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep the current snapshot; the next run tries again
+            log.warn("Could not rebuild org chart index: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot load() {
+        List<Object[]> lines = employeeRepository.findReportingLines();
+
+        long[][] rows = new long[lines.size()][];
+        for (int i = 0; i < lines.size(); i++) {
+            Object[] line = lines.get(i);
+            rows[i] = new long[]{
+                    (Long) line[0],
+                    line[1] != null ? (Long) line[1] : NO_MANAGER,
+                    Boolean.FALSE.equals(line[2]) ? 0 : 1};
+        }
+        Arrays.sort(rows, (a, b) -> Long.compare(a[0], b[0]));
+
+        long[] ids = new long[rows.length];
+        long[] managerIds = new long[rows.length];
+        boolean[] active = new boolean[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ids[i] = rows[i][0];
+            managerIds[i] = rows[i][1];
+            active[i] = rows[i][2] == 1;
+        }
+
+        log.debug("Org chart index built with {} employees", ids.length);
+        return new Snapshot(ids, managerIds, active);
+    }
+
+    /**
+     * Records an employee's manager and active flag. Inside a transaction the change is applied
+     * after commit, so a rolled-back update never reaches the index.
+     *
+     * @param employeeId the employee that was created or updated
+     * @param managerId  the employee's manager, or {@code null} for none
+     * @param active     whether the employee is active
+     */
+    public void employeeSaved(Long employeeId, Long managerId, boolean active) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(employeeId, managerId, active);
+                }
+            });
+        } else {
+            apply(employeeId, managerId, active);
+        }
+    }
+
+    /**
+     * Number of employees whose manager is the given employee, active or not.
+     */
+    public int countDirectReports(long managerId) {
+        Snapshot chart = snapshot();
+        int index = chart.indexOf(managerId);
+        return index < 0 ? 0 : chart.childOffsets[index + 1] - chart.childOffsets[index];
+    }
+
+    /**
+     * Number of active employees whose manager is the given employee.
+     */
+    public int countActiveDirectReports(long managerId) {
+        Snapshot chart = snapshot();
+        int index = chart.indexOf(managerId);
+        return index < 0 ? 0 : chart.activeChildCounts[index];
+    }
+
+    /**
+     * Whether the manager is above the employee anywhere in the reporting line.
+     * An employee is not in their own reporting line.
+     */
+    public boolean isInReportingLine(long managerId, long employeeId) {
+        Snapshot chart = snapshot();
+        int manager = chart.indexOf(managerId);
+        int employee = chart.indexOf(employeeId);
+        return manager >= 0 && employee >= 0 && chart.contains(manager, employee);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private void apply(Long employeeId, Long managerId, boolean active) {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            } else {
+                snapshot = applyTo(snapshot, employeeId, managerId, active);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Snapshot applyTo(Snapshot current, Long employeeId, Long managerId, boolean active) {
+
+        long managerValue = managerId != null ? managerId : NO_MANAGER;
+        int index = current.indexOf(employeeId);
+
+        if (index >= 0) {
+            long[] managerIds = current.managerIds.clone();
+            boolean[] activeFlags = current.active.clone();
+            managerIds[index] = managerValue;
+            activeFlags[index] = active;
+            return new Snapshot(current.ids, managerIds, activeFlags);
+        }
+
+        int insertAt = -index - 1;
+        return new Snapshot(
+                insert(current.ids, insertAt, employeeId),
+                insert(current.managerIds, insertAt, managerValue),
+                insert(current.active, insertAt, active));
+    }
+
+    private static long[] insert(long[] values, int index, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static boolean[] insert(boolean[] values, int index, boolean value) {
+        boolean[] result = new boolean[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    /**
+     * Immutable reporting lines. Employees are addressed by their position in {@code ids}.
+     */
+    private static final class Snapshot {
+        private final long[] ids;
+        private final long[] managerIds;
+        private final boolean[] active;
+
+        // Manager position per employee, -1 for none
+        private final int[] parents;
+        // Direct reports of employee i are children[childOffsets[i] .. childOffsets[i + 1])
+        private final int[] childOffsets;
+        private final int[] children;
+        private final int[] activeChildCounts;
+        // Depth-first numbering: the subtree of i is order[enter[i] .. exit[i])
+        private final int[] order;
+        private final int[] enter;
+        private final int[] exit;
+
+        private Snapshot(long[] ids, long[] managerIds, boolean[] active) {
+            int size = ids.length;
+            this.ids = ids;
+            this.managerIds = managerIds;
+            this.active = active;
+            this.parents = new int[size];
+            this.childOffsets = new int[size + 1];
+            this.children = new int[size];
+            this.activeChildCounts = new int[size];
+            this.order = new int[size];
+            this.enter = new int[size];
+            this.exit = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                int parent = managerIds[i] == NO_MANAGER ? -1 : indexOf(managerIds[i]);
+                parents[i] = parent;
+                if (parent >= 0) {
+                    childOffsets[parent + 1]++;
+                    if (active[i]) {
+                        activeChildCounts[parent]++;
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                childOffsets[i + 1] += childOffsets[i];
+            }
+            int[] fill = Arrays.copyOf(childOffsets, size);
+            for (int i = 0; i < size; i++) {
+                if (parents[i] >= 0) {
+                    children[fill[parents[i]]++] = i;
+                }
+            }
+
+            number();
+        }
+
+        // Iterative depth-first walk from every top-level employee, then from anything left
+        // over, which can only be part of a reporting cycle
+        private void number() {
+            int size = ids.length;
+            boolean[] visited = new boolean[size];
+            int[] stack = new int[size];
+            int[] next = new int[size];
+            int counter = 0;
+
+            for (int pass = 0; pass < 2; pass++) {
+                for (int root = 0; root < size; root++) {
+                    if (visited[root] || (pass == 0 && parents[root] >= 0)) {
+                        continue;
+                    }
+                    if (pass == 1) {
+                        log.warn("Reporting cycle involving employee {}", ids[root]);
+                    }
+
+                    int depth = 0;
+                    visited[root] = true;
+                    enter[root] = counter;
+                    order[counter++] = root;
+                    next[root] = childOffsets[root];
+                    stack[depth++] = root;
+
+                    while (depth > 0) {
+                        int node = stack[depth - 1];
+                        if (next[node] < childOffsets[node + 1]) {
+                            int child = children[next[node]++];
+                            if (!visited[child]) {
+                                visited[child] = true;
+                                enter[child] = counter;
+                                order[counter++] = child;
+                                next[child] = childOffsets[child];
+                                stack[depth++] = child;
+                            }
+                        } else {
+                            exit[node] = counter;
+                            depth--;
+                        }
+                    }
+                }
+            }
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+        private boolean contains(int ancestor, int descendant) {
+            return enter[ancestor] < enter[descendant] && enter[descendant] < exit[ancestor];
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class PayInfoService {
     private final PayInfoRepository payInfoRepository;
     private final EmployeeRepository employeeRepository;
     private final PayInfoMapper payInfoMapper;
+    private final PayrollPreviewSnapshot payrollPreviewSnapshot;
 
     /**
      * Retrieves the pay information associated with the specified employee ID.
@@ -68,6 +69,9 @@ public class PayInfoService {
         payInfoMapper.updateEntityFromRequest(payInfo, request);
         payInfoRepository.save(payInfo);
 
+        // Rate changes affect this employee's payroll preview lines
+        payrollPreviewSnapshot.invalidateEmployee(employeeId);
+
         log.info("Pay info updated for employee ID: {}", employeeId);
 
         return new MessageResponse("Pay information updated successfully");
@@ -102,6 +106,7 @@ public class PayInfoService {
         payInfo.setEmployee(employee);
 
         PayInfo saved = payInfoRepository.save(payInfo);
+        payrollPreviewSnapshot.invalidateEmployee(employeeId);
 
         log.info("Pay info created for employee ID: {}", employeeId);
 
@@ -0,0 +1,223 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.PayrollCalculationProperties;
+import com.example.hrms.exceptions.ResourceNotFoundException;
+import com.example.hrms.models.*;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Payroll arithmetic, optionally spread across a bounded fork-join pool.
+ * <p>
+ * Entities are only read on the calling thread; the arithmetic works on {@link PayrollInput}
+ * snapshots, so worker threads never touch entities or the {@code EntityManager}. Every
+ * amount is rounded the same way on both paths, so the parallel result is identical to the
+ * sequential one.
+ * </p>
+ */
+@Component
+@Slf4j
+public class PayrollCalculator {
+
+    // Tax rates
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.20"); // 20%
+    private static final BigDecimal OTHER_DEDUCTIONS_RATE = new BigDecimal("0.05"); // 5%
+
+    private final PayrollCalculationProperties properties;
+    private final ForkJoinPool pool;
+
+    public PayrollCalculator(PayrollCalculationProperties properties) {
+        this.properties = properties;
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Hours and rates needed to calculate one payroll, copied off the entities.
+     */
+    public record PayrollInput(BigDecimal hoursWorked, BigDecimal hourlyRate, BigDecimal salary) {
+    }
+
+    /**
+     * Calculated amounts for one payroll.
+     */
+    public record PayrollAmounts(BigDecimal grossPay, BigDecimal taxDeduction,
+                                 BigDecimal otherDeductions, BigDecimal netPay) {
+    }
+
+    /**
+     * Calculates payroll instances for the given timesheets and pay period, in timesheet order.
+     * <p>
+     * Pay info is read on the calling thread and passed to {@link #calculateAll} as plain
+     * values, so the arithmetic can run in parallel without touching the persistence context.
+     * The timesheets must be loaded with their employee and pay info, so no queries are issued.
+     * Returned objects are not saved to the database.
+     * </p>
+     *
+     * @param timesheets  approved timesheets containing hours worked
+     * @param periodStart start of the pay period
+     * @param periodEnd   end of the pay period
+     * @return populated {@link Payroll} objects with status PREVIEW
+     * @throws ResourceNotFoundException if an employee has no pay info
+     */
+    public List<Payroll> calculatePayrolls(List<Timesheet> timesheets, LocalDate periodStart, LocalDate periodEnd) {
+        List<PayrollInput> inputs = timesheets.stream()
+                .map(this::toPayrollInput)
+                .toList();
+
+        List<PayrollAmounts> amounts = calculateAll(inputs);
+
+        List<Payroll> payrolls = new ArrayList<>(timesheets.size());
+        for (int i = 0; i < timesheets.size(); i++) {
+            PayrollAmounts calculated = amounts.get(i);
+            payrolls.add(Payroll.builder()
+                    .employee(timesheets.get(i).getEmployee())
+                    .payPeriodStart(periodStart)
+                    .payPeriodEnd(periodEnd)
+                    .grossPay(calculated.grossPay())
+                    .taxDeduction(calculated.taxDeduction())
+                    .otherDeductions(calculated.otherDeductions())
+                    .bonus(BigDecimal.ZERO)
+                    .netPay(calculated.netPay())
+                    .status(PayrollStatus.PREVIEW)
+                    .build());
+        }
+        return payrolls;
+    }
+
+    private PayrollInput toPayrollInput(Timesheet timesheet) {
+        Employee employee = timesheet.getEmployee();
+
+        PayInfo payInfo = employee.getPayInfo();
+        if (payInfo == null) {
+            throw new ResourceNotFoundException(
+                    "Pay information not found for employee: " + employee.getUsername());
+        }
+
+        return new PayrollInput(
+                timesheet.getTotalHours(), payInfo.getHourlyRate(), payInfo.getSalary());
+    }
+
+    /**
+     * Calculates amounts for every input, in input order.
+     * <p>
+     * Uses the fork-join pool when enabled and the batch is at least
+     * {@code payroll.calculation.parallel-threshold} long. With
+     * {@code payroll.calculation.compare-with-sequential} set, the sequential result is
+     * computed as well and returned instead if the two differ.
+     * </p>
+     *
+     * @throws IllegalStateException if an input has neither hourly rate nor salary
+     */
+    public List<PayrollAmounts> calculateAll(List<PayrollInput> inputs) {
+        if (!properties.isParallel() || inputs.size() < properties.getParallelThreshold()) {
+            return calculateSequentially(inputs);
+        }
+
+        List<PayrollAmounts> parallel = calculateInParallel(inputs);
+
+        if (properties.isCompareWithSequential()) {
+            List<PayrollAmounts> sequential = calculateSequentially(inputs);
+            if (!parallel.equals(sequential)) {
+                log.error("Parallel payroll calculation differs from sequential for {} inputs; " +
+                        "using sequential result", inputs.size());
+                return sequential;
+            }
+            log.debug("Parallel payroll calculation matches sequential for {} inputs", inputs.size());
+        }
+
+        return parallel;
+    }
+
+    /**
+     * Calculates gross pay, 20% tax, 5% other deductions and net pay for one input.
+     *
+     * @throws IllegalStateException if neither hourly rate nor salary is defined
+     */
+    public PayrollAmounts calculate(PayrollInput input) {
+        BigDecimal hourlyRate = input.hourlyRate() != null ?
+                input.hourlyRate() : calculateHourlyRateFromSalary(input.salary());
+
+        BigDecimal grossPay = input.hoursWorked().multiply(hourlyRate)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        // Calculate deductions
+        BigDecimal taxDeduction = grossPay.multiply(TAX_RATE)
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal otherDeductions = grossPay.multiply(OTHER_DEDUCTIONS_RATE)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        // Calculate net pay
+        BigDecimal netPay = grossPay
+                .subtract(taxDeduction)
+                .subtract(otherDeductions)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        return new PayrollAmounts(grossPay, taxDeduction, otherDeductions, netPay);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<PayrollAmounts> calculateSequentially(List<PayrollInput> inputs) {
+        return inputs.stream()
+                .map(this::calculate)
+                .toList();
+    }
+
+    private List<PayrollAmounts> calculateInParallel(List<PayrollInput> inputs) {
+        try {
+            // A parallel stream submitted from inside the pool runs on the pool's workers
+            return pool.submit(() -> inputs.parallelStream()
+                            .map(this::calculate)
+                            .toList())
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll calculation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Payroll calculation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Converts annual salary to an hourly rate.
+     * <p>
+     * Uses fixed assumptions:
+     * <ul>
+     *     <li>52 working weeks / year</li>
+     *     <li>40 working hours / week</li>
+     * </ul>
+     * </p>
+     *
+     * @param salary annual salary
+     * @return calculated hourly rate
+     * @throws IllegalStateException if salary is not defined
+     */
+    private BigDecimal calculateHourlyRateFromSalary(BigDecimal salary) {
+        if (salary == null) {
+            throw new IllegalStateException("Neither hourly rate nor salary is defined");
+        }
+
+        // Annual salary / 52 weeks / 40 hours
+        return salary
+                .divide(new BigDecimal("52"), 4, RoundingMode.HALF_UP)
+                .divide(new BigDecimal("40"), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.PayrollJobProperties;
+import com.example.hrms.dto.PayrollJobResponse;
+import com.example.hrms.dto.RunPayrollRequest;
+import com.example.hrms.events.PayrollProcessedEvent;
+import com.example.hrms.exceptions.BadRequestException;
+import com.example.hrms.exceptions.ResourceNotFoundException;
+import com.example.hrms.mappers.PayrollMapper;
+import com.example.hrms.models.*;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.PayrollJobRepository;
+import com.example.hrms.repositories.PayrollRepository;
+import com.example.hrms.repositories.TimesheetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Runs payroll for a week as a background job.
+ * <p>
+ * Approved timesheets are processed in chunks of {@code payroll.job.chunk-size}, ordered by id.
+ * Each chunk is calculated, inserted and recorded on the {@link PayrollJob} in its own
+ * transaction, so the job row always reflects exactly the payrolls that were committed.
+ * A job interrupted by a crash or restart resumes after its last committed timesheet.
+ * </p>
+ */
+@Service
+@Slf4j
+public class PayrollJobService {
+
+    private static final List<PayrollStatus> COMPLETED_PAYROLL_STATUSES =
+            List.of(PayrollStatus.PROCESSED, PayrollStatus.PAID);
+
+    private final PayrollJobRepository payrollJobRepository;
+    private final PayrollRepository payrollRepository;
+    private final TimesheetRepository timesheetRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollMapper payrollMapper;
+    private final PayrollJobProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    public PayrollJobService(PayrollJobRepository payrollJobRepository,
+                             PayrollRepository payrollRepository,
+                             TimesheetRepository timesheetRepository,
+                             EmployeeRepository employeeRepository,
+                             PayrollCalculator payrollCalculator,
+                             PayrollMapper payrollMapper,
+                             PayrollJobProperties properties,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             Environment environment) {
+        this.payrollJobRepository = payrollJobRepository;
+        this.payrollRepository = payrollRepository;
+        this.timesheetRepository = timesheetRepository;
+        this.employeeRepository = employeeRepository;
+        this.payrollCalculator = payrollCalculator;
+        this.payrollMapper = payrollMapper;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Still a fixed pool with virtual threads: payroll.job.concurrency bounds how many jobs run at once
+        Thread.Builder threads = Threading.VIRTUAL.isActive(environment) ? Thread.ofVirtual() : Thread.ofPlatform();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()),
+                threads.name("payroll-job-", 0).factory());
+    }
+
+    /**
+     * Validates the request and queues a payroll job for the week.
+     * <p>
+     * Applies the same checks as {@link PayrollService#runPayroll}: there must be approved
+     * timesheets, and payroll must not already be processed (or being processed) for the
+     * period. Preview payrolls are removed before the job is queued.
+     * </p>
+     *
+     * @param request            contains payroll period and payment date
+     * @param processorUsername  username of the employee running payroll
+     * @return the queued job
+     * @throws BadRequestException if payroll is already processed or no approved timesheets exist
+     * @throws ResourceNotFoundException if processor user is not found
+     */
+    @Transactional
+    public PayrollJobResponse startJob(RunPayrollRequest request, String processorUsername) {
+        log.info("Starting payroll job for week starting: {} by user: {}",
+                request.getWeekStartDate(), processorUsername);
+
+        LocalDate weekStartDate = request.getWeekStartDate();
+        LocalDate weekEndDate = weekStartDate.plusDays(6);
+
+        Employee processor = employeeRepository.findByUsername(processorUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Processor not found"));
+
+        long approvedCount = timesheetRepository
+                .countByStatusAndWeekStartDate(TimesheetStatus.APPROVED, weekStartDate);
+
+        if (approvedCount == 0) {
+            throw new BadRequestException("No approved timesheets found for the specified week");
+        }
+
+        if (payrollRepository.existsByPayPeriodStartAndPayPeriodEndAndStatus(
+                weekStartDate, weekEndDate, PayrollStatus.PROCESSED)) {
+            throw new BadRequestException("Payroll already processed for this period");
+        }
+
+        if (payrollJobRepository.existsByWeekStartDateAndStatusIn(
+                weekStartDate, PayrollService.ACTIVE_JOB_STATUSES)) {
+            throw new BadRequestException("A payroll job is already running for this period");
+        }
+
+        payrollRepository.deleteByStatus(PayrollStatus.PREVIEW);
+
+        PayrollJob job = payrollJobRepository.save(PayrollJob.builder()
+                .weekStartDate(weekStartDate)
+                .weekEndDate(weekEndDate)
+                .paymentDate(request.getPaymentDate())
+                .processedBy(processor)
+                .chunkSize(Math.max(1, properties.getChunkSize()))
+                .totalCount((int) approvedCount)
+                .build());
+
+        submitAfterCommit(job.getId());
+
+        log.info("Payroll job {} queued with {} timesheets", job.getId(), approvedCount);
+        return payrollMapper.toJobResponse(job);
+    }
+
+    /**
+     * Retrieves the current progress of a payroll job.
+     *
+     * @param jobId the payroll job ID
+     * @return a {@link PayrollJobResponse}
+     * @throws ResourceNotFoundException if the job does not exist
+     */
+    @Transactional(readOnly = true)
+    public PayrollJobResponse getJob(Long jobId) {
+        return payrollMapper.toJobResponse(findJob(jobId));
+    }
+
+    /**
+     * Re-queues a failed job. Processing continues after the last committed chunk.
+     *
+     * @param jobId the payroll job ID
+     * @return the re-queued job
+     * @throws ResourceNotFoundException if the job does not exist
+     * @throws BadRequestException       if the job has not failed
+     */
+    @Transactional
+    public PayrollJobResponse resumeJob(Long jobId) {
+        PayrollJob job = findJob(jobId);
+
+        if (job.getStatus() != PayrollJobStatus.FAILED) {
+            throw new BadRequestException("Only failed payroll jobs can be resumed");
+        }
+
+        job.setStatus(PayrollJobStatus.QUEUED);
+        job.setErrorMessage(null);
+        payrollJobRepository.save(job);
+
+        submitAfterCommit(jobId);
+
+        log.info("Payroll job {} re-queued at timesheet cursor {}", jobId, job.getLastTimesheetId());
+        return payrollMapper.toJobResponse(job);
+    }
+
+    /**
+     * Resubmits jobs that were queued or running when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!properties.isResumeOnStartup()) {
+            return;
+        }
+
+        List<PayrollJob> interrupted = payrollJobRepository
+                .findByStatusInOrderByIdAsc(PayrollService.ACTIVE_JOB_STATUSES);
+
+        for (PayrollJob job : interrupted) {
+            log.info("Resuming interrupted payroll job {} after timesheet {}",
+                    job.getId(), job.getLastTimesheetId());
+            executor.execute(() -> run(job.getId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Chunks in flight roll back; the job stays RUNNING and is resumed on next startup
+        executor.shutdownNow();
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> run(jobId));
+            }
+        });
+    }
+
+    private void run(Long jobId) {
+        try {
+            boolean more = true;
+            while (more && !Thread.currentThread().isInterrupted()) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processNextChunk(jobId)));
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another worker committed a chunk for this job first; leave the job to it
+            log.warn("Payroll job {} is being processed by another worker", jobId);
+        } catch (RuntimeException e) {
+            log.error("Payroll job {} failed: {}", jobId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> payrollJobRepository.findById(jobId)
+                    .ifPresent(job -> job.fail(e.getMessage())));
+        }
+    }
+
+    /**
+     * Processes the next chunk of a job in the caller's transaction.
+     *
+     * @return {@code true} if there may be more timesheets to process
+     */
+    private boolean processNextChunk(Long jobId) {
+        PayrollJob job = findJob(jobId);
+
+        if (!job.getStatus().isActive()) {
+            return false;
+        }
+
+        LocalDate weekStartDate = job.getWeekStartDate();
+        LocalDate weekEndDate = job.getWeekEndDate();
+        Long afterId = job.getLastTimesheetId() != null ? job.getLastTimesheetId() : 0L;
+
+        List<Timesheet> chunk = timesheetRepository.findApprovedTimesheetChunk(
+                weekStartDate, afterId, PageRequest.of(0, job.getChunkSize()));
+
+        if (chunk.isEmpty()) {
+            job.complete();
+            log.info("Payroll job {} completed. Count: {}, Total: {}",
+                    jobId, job.getProcessedCount(), job.getTotalAmount());
+            return false;
+        }
+
+        // Duplicate-run check, per chunk: anything already paid for these employees came from another run
+        Set<Long> employeeIds = chunk.stream()
+                .map(timesheet -> timesheet.getEmployee().getId())
+                .collect(Collectors.toSet());
+
+        if (!payrollRepository.findEmployeeIdsWithPayrollForPeriod(
+                employeeIds, weekStartDate, weekEndDate, COMPLETED_PAYROLL_STATUSES).isEmpty()) {
+            throw new BadRequestException("Payroll already processed for this period");
+        }
+
+        Employee processor = job.getProcessedBy();
+        List<Payroll> payrolls = payrollCalculator.calculatePayrolls(chunk, weekStartDate, weekEndDate);
+        payrolls.forEach(payroll -> payroll.process(processor, job.getPaymentDate()));
+
+        BigDecimal chunkAmount = payrolls.stream()
+                .map(Payroll::getNetPay)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        job.recordChunk(chunk.get(chunk.size() - 1).getId(), payrolls.size(), chunkAmount);
+
+        // A short chunk is the last one
+        boolean lastChunk = chunk.size() < job.getChunkSize();
+        if (lastChunk) {
+            job.complete();
+        }
+
+        // insertInBatches clears the persistence context, so the job is merged back afterwards
+        payrollRepository.insertInBatches(payrolls);
+        payrollJobRepository.save(job);
+        eventPublisher.publishEvent(new PayrollProcessedEvent(weekStartDate, weekEndDate, List.copyOf(employeeIds)));
+
+        log.debug("Payroll job {} processed {}/{} timesheets",
+                jobId, job.getProcessedCount(), job.getTotalCount());
+
+        if (lastChunk) {
+            log.info("Payroll job {} completed. Count: {}, Total: {}",
+                    jobId, job.getProcessedCount(), job.getTotalAmount());
+        }
+
+        return !lastChunk;
+    }
+
+    private PayrollJob findJob(Long jobId) {
+        return payrollJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Payroll job not found with ID: " + jobId));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.PayrollPreviewProperties;
+import com.example.hrms.dto.PayrollPreviewResponse;
+import com.example.hrms.mappers.PayrollMapper;
+import com.example.hrms.models.Payroll;
+import com.example.hrms.models.Timesheet;
+import com.example.hrms.repositories.TimesheetRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a materialized payroll preview per week.
+ * <p>
+ * The first request for a week calculates every line. After that, services mark single
+ * employees dirty when something that feeds their line changes (timesheet approval or denial,
+ * pay info, name), and the next read recalculates only those lines with one query. A read with
+ * nothing dirty returns the cached response without touching the database.
+ * </p>
+ */
+@Component
+@Slf4j
+public class PayrollPreviewSnapshot {
+
+    private final TimesheetRepository timesheetRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollMapper payrollMapper;
+    private final boolean enabled;
+    private final Cache<LocalDate, WeekSnapshot> snapshots;
+
+    public PayrollPreviewSnapshot(TimesheetRepository timesheetRepository,
+                                  PayrollCalculator payrollCalculator,
+                                  PayrollMapper payrollMapper,
+                                  PayrollPreviewProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.timesheetRepository = timesheetRepository;
+        this.payrollCalculator = payrollCalculator;
+        this.payrollMapper = payrollMapper;
+        this.enabled = properties.isSnapshotEnabled();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumWeeks())
+                .expireAfterWrite(properties.getRebuildAfter())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "payrollPreview");
+    }
+
+    /**
+     * Returns the preview for the week, refreshing dirty lines first.
+     * Must be called inside a transaction, since lines are loaded with their pay info.
+     */
+    public PayrollPreviewResponse getPreview(LocalDate weekStartDate) {
+        if (!enabled) {
+            List<Payroll> payrolls = payrollCalculator.calculatePayrolls(
+                    timesheetRepository.findApprovedTimesheetsWithPayInfoByWeek(weekStartDate),
+                    weekStartDate, weekStartDate.plusDays(6));
+            return payrollMapper.toPreviewResponse(payrolls, weekStartDate, weekStartDate.plusDays(6));
+        }
+
+        WeekSnapshot snapshot = snapshots.get(weekStartDate, WeekSnapshot::new);
+
+        PayrollPreviewResponse response = snapshot.response;
+        if (response != null && snapshot.dirty.isEmpty()) {
+            return response;
+        }
+
+        // A lock rather than synchronized: refresh queries the database, which would pin a virtual thread
+        snapshot.lock.lock();
+        try {
+            refresh(snapshot);
+            return snapshot.response;
+        } finally {
+            snapshot.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks one employee's line for a week as stale. When called inside a transaction the line
+     * is marked again after commit, so a concurrent read cannot keep the pre-update values.
+     */
+    public void invalidate(Long employeeId, LocalDate weekStartDate) {
+        onCommit(employeeId, id -> {
+            WeekSnapshot snapshot = snapshots.getIfPresent(weekStartDate);
+            if (snapshot != null) {
+                snapshot.dirty.add(id);
+            }
+        });
+    }
+
+    /**
+     * Marks an employee's line as stale in every cached week, e.g. after a pay rate change.
+     */
+    public void invalidateEmployee(Long employeeId) {
+        onCommit(employeeId, id -> snapshots.asMap().values()
+                .forEach(snapshot -> snapshot.dirty.add(id)));
+    }
+
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    private void onCommit(Long employeeId, Consumer<Long> action) {
+        if (employeeId == null) {
+            return;
+        }
+
+        action.accept(employeeId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.accept(employeeId);
+                }
+            });
+        }
+    }
+
+    // Caller holds the snapshot's lock
+    private void refresh(WeekSnapshot snapshot) {
+        LocalDate weekStartDate = snapshot.weekStartDate;
+
+        if (!snapshot.built) {
+            // Anything marked dirty from here on is recalculated on a later read
+            snapshot.dirty.clear();
+            putLines(snapshot, timesheetRepository.findApprovedTimesheetsWithPayInfoByWeek(weekStartDate));
+            snapshot.built = true;
+            log.debug("Built payroll preview snapshot for week {} with {} lines",
+                    weekStartDate, snapshot.lines.size());
+        } else if (!snapshot.dirty.isEmpty()) {
+            Set<Long> employeeIds = new HashSet<>(snapshot.dirty);
+            snapshot.dirty.removeAll(employeeIds);
+
+            try {
+                List<Timesheet> timesheets = timesheetRepository
+                        .findApprovedTimesheetsWithPayInfoByWeekAndEmployeeIds(weekStartDate, employeeIds);
+                // Employees without an approved timesheet any more simply drop out
+                employeeIds.forEach(snapshot.lines::remove);
+                putLines(snapshot, timesheets);
+            } catch (RuntimeException e) {
+                snapshot.dirty.addAll(employeeIds);
+                throw e;
+            }
+
+            log.debug("Refreshed {} payroll preview lines for week {}", employeeIds.size(), weekStartDate);
+        } else if (snapshot.response != null) {
+            return;
+        }
+
+        List<PayrollPreviewResponse.EmployeePayrollInfo> lines = snapshot.lines.values().stream()
+                .sorted(Comparator.comparing(PayrollPreviewResponse.EmployeePayrollInfo::getEmployeeId,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        snapshot.response = payrollMapper.toPreviewResponseFromInfos(
+                lines, weekStartDate, weekStartDate.plusDays(6));
+    }
+
+    private void putLines(WeekSnapshot snapshot, List<Timesheet> timesheets) {
+        LocalDate weekStartDate = snapshot.weekStartDate;
+        List<Payroll> payrolls = payrollCalculator.calculatePayrolls(
+                timesheets, weekStartDate, weekStartDate.plusDays(6));
+
+        for (int i = 0; i < timesheets.size(); i++) {
+            snapshot.lines.put(timesheets.get(i).getEmployee().getId(),
+                    payrollMapper.toEmployeePayrollInfo(payrolls.get(i)));
+        }
+    }
+
+    private static final class WeekSnapshot {
+        private final LocalDate weekStartDate;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock
+        private final Map<Long, PayrollPreviewResponse.EmployeePayrollInfo> lines = new HashMap<>();
+        private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+        private boolean built;
+        private volatile PayrollPreviewResponse response;
+
+        private WeekSnapshot(LocalDate weekStartDate) {
+            this.weekStartDate = weekStartDate;
+        }
+    }
+}
@@ -4,43 +4,47 @@ import com.example.hrms.dto.PayrollPreviewResponse;
 import com.example.hrms.dto.PayrollResponse;
 import com.example.hrms.dto.RunPayrollRequest;
 import com.example.hrms.dto.RunPayrollResponse;
+import com.example.hrms.events.PayrollProcessedEvent;
 import com.example.hrms.exceptions.BadRequestException;
 import com.example.hrms.exceptions.ResourceNotFoundException;
 import com.example.hrms.mappers.PayrollMapper;
 import com.example.hrms.models.*;
 import com.example.hrms.repositories.EmployeeRepository;
-import com.example.hrms.repositories.PayInfoRepository;
+import com.example.hrms.repositories.PayrollJobRepository;
 import com.example.hrms.repositories.PayrollRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PayrollService {
     private final PayrollRepository payrollRepository;
-    private final PayInfoRepository payInfoRepository;
+    private final PayrollJobRepository payrollJobRepository;
     private final EmployeeRepository employeeRepository;
     private final TimesheetService timesheetService;
     private final PayrollMapper payrollMapper;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollPreviewSnapshot payrollPreviewSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // Tax rates
-    private static final BigDecimal TAX_RATE = new BigDecimal("0.20"); // 20%
-    private static final BigDecimal OTHER_DEDUCTIONS_RATE = new BigDecimal("0.05"); // 5%
+    static final List<PayrollJobStatus> ACTIVE_JOB_STATUSES =
+            List.of(PayrollJobStatus.QUEUED, PayrollJobStatus.RUNNING);
 
     /**
      * Generates a payroll preview for a specific week.
      * <p>
      * Only approved timesheets are included. No data is saved to the database.
+     * Served from {@link PayrollPreviewSnapshot}, which only recalculates lines that changed
+     * since the last call.
      * </p>
      *
      * @param weekStartDate the Monday date representing the start of the payroll week
@@ -50,23 +54,13 @@ public class PayrollService {
     public PayrollPreviewResponse previewPayroll(LocalDate weekStartDate) {
         log.info("Previewing payroll for week starting: {}", weekStartDate);
 
-        LocalDate weekEndDate = weekStartDate.plusDays(6);
+        PayrollPreviewResponse response = payrollPreviewSnapshot.getPreview(weekStartDate);
 
-        // Get approved timesheets for the week
-        List<Timesheet> approvedTimesheets =
-                timesheetService.getApprovedTimesheetsForWeek(weekStartDate);
-
-        if (approvedTimesheets.isEmpty()) {
+        if (response.getEmployeeCount() == 0) {
             log.warn("No approved timesheets found for week: {}", weekStartDate);
-            return payrollMapper.toPreviewResponse(List.of(), weekStartDate, weekEndDate);
         }
 
-        // Calculate payroll for each employee
-        List<Payroll> previewPayrolls = approvedTimesheets.stream()
-                .map(timesheet -> calculatePayroll(timesheet, weekStartDate, weekEndDate))
-                .collect(Collectors.toList());
-
-        return payrollMapper.toPreviewResponse(previewPayrolls, weekStartDate, weekEndDate);
+        return response;
     }
 
     /**
@@ -77,7 +71,7 @@ public class PayrollService {
      *     <li>Validate approved timesheets</li>
      *     <li>Ensure payroll has not already been processed</li>
      *     <li>Remove previous preview payrolls</li>
-     *     <li>Create and save processed payroll records</li>
+     *     <li>Create processed payroll records and insert them in JDBC batches</li>
      * </ul>
      * </p>
      *
@@ -107,26 +101,31 @@ public class PayrollService {
         }
 
         // Check if payroll already processed for this period
-        List<Payroll> existingPayrolls = payrollRepository
-                .findByPayPeriodStartAndPayPeriodEnd(weekStartDate, weekEndDate);
-
-        if (!existingPayrolls.isEmpty() &&
-                existingPayrolls.stream().anyMatch(p -> p.getStatus() == PayrollStatus.PROCESSED)) {
+        if (payrollRepository.existsByPayPeriodStartAndPayPeriodEndAndStatus(
+                weekStartDate, weekEndDate, PayrollStatus.PROCESSED)) {
             throw new BadRequestException("Payroll already processed for this period");
         }
 
+        if (payrollJobRepository.existsByWeekStartDateAndStatusIn(weekStartDate, ACTIVE_JOB_STATUSES)) {
+            throw new BadRequestException("A payroll job is already running for this period");
+        }
+
         // Delete preview payrolls if any
         payrollRepository.deleteByStatus(PayrollStatus.PREVIEW);
 
-        // Process payroll for each timesheet
-        List<Payroll> processedPayrolls = approvedTimesheets.stream()
-                .map(timesheet -> {
-                    Payroll payroll = calculatePayroll(timesheet, weekStartDate, weekEndDate);
-                    payroll.setStatus(PayrollStatus.PROCESSED);
-                    payroll.process(processor, request.getPaymentDate());
-                    return payrollRepository.save(payroll);
-                })
-                .collect(Collectors.toList());
+        // Calculate every payroll in memory, then write them in JDBC batches
+        List<Payroll> processedPayrolls =
+                payrollCalculator.calculatePayrolls(approvedTimesheets, weekStartDate, weekEndDate);
+        processedPayrolls.forEach(payroll -> payroll.process(processor, request.getPaymentDate()));
+
+        // Collected first: insertInBatches clears the persistence context
+        List<Long> paidEmployeeIds = approvedTimesheets.stream()
+                .map(timesheet -> timesheet.getEmployee().getId())
+                .distinct()
+                .toList();
+
+        payrollRepository.insertInBatches(processedPayrolls);
+        eventPublisher.publishEvent(new PayrollProcessedEvent(weekStartDate, weekEndDate, paidEmployeeIds));
 
         BigDecimal totalAmount = processedPayrolls.stream()
                 .map(Payroll::getNetPay)
@@ -198,89 +197,6 @@ public class PayrollService {
         return payrollMapper.toResponseList(payrolls);
     }
 
-    /**
-     * Calculates a payroll instance based on the given timesheet and pay period.
-     * <p>
-     * Includes:
-     * <ul>
-     *     <li>Gross pay calculation</li>
-     *     <li>20% tax deduction</li>
-     *     <li>5% additional deductions</li>
-     *     <li>Net pay calculation</li>
-     * </ul>
-     * Returned object is not saved to the database.
-     * </p>
-     *
-     * @param timesheet the approved timesheet containing hours worked
-     * @param periodStart start of the pay period
-     * @param periodEnd   end of the pay period
-     * @return a populated {@link Payroll} object with status PREVIEW
-     */
-    private Payroll calculatePayroll(Timesheet timesheet, LocalDate periodStart, LocalDate periodEnd) {
-        Employee employee = timesheet.getEmployee();
-
-        PayInfo payInfo = payInfoRepository.findByEmployeeId(employee.getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Pay information not found for employee: " + employee.getUsername()));
-
-        // Calculate gross pay based on hours worked
-        BigDecimal hoursWorked = timesheet.getTotalHours();
-        BigDecimal hourlyRate = payInfo.getHourlyRate() != null ?
-                payInfo.getHourlyRate() : calculateHourlyRateFromSalary(payInfo);
-
-        BigDecimal grossPay = hoursWorked.multiply(hourlyRate)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        // Calculate deductions
-        BigDecimal taxDeduction = grossPay.multiply(TAX_RATE)
-                .setScale(2, RoundingMode.HALF_UP);
-        BigDecimal otherDeductions = grossPay.multiply(OTHER_DEDUCTIONS_RATE)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        // Calculate net pay
-        BigDecimal netPay = grossPay
-                .subtract(taxDeduction)
-                .subtract(otherDeductions)
-                .setScale(2, RoundingMode.HALF_UP);
-
-        return Payroll.builder()
-                .employee(employee)
-                .payPeriodStart(periodStart)
-                .payPeriodEnd(periodEnd)
-                .grossPay(grossPay)
-                .taxDeduction(taxDeduction)
-                .otherDeductions(otherDeductions)
-                .bonus(BigDecimal.ZERO)
-                .netPay(netPay)
-                .status(PayrollStatus.PREVIEW)
-                .build();
-    }
-
-    /**
-     * Converts annual salary to an hourly rate.
-     * <p>
-     * Uses fixed assumptions:
-     * <ul>
-     *     <li>52 working weeks / year</li>
-     *     <li>40 working hours / week</li>
-     * </ul>
-     * </p>
-     *
-     * @param payInfo contains annual salary
-     * @return calculated hourly rate
-     * @throws IllegalStateException if salary is not defined
-     */
-    private BigDecimal calculateHourlyRateFromSalary(PayInfo payInfo) {
-        if (payInfo.getSalary() == null) {
-            throw new IllegalStateException("Neither hourly rate nor salary is defined");
-        }
-
-        // Annual salary / 52 weeks / 40 hours
-        return payInfo.getSalary()
-                .divide(new BigDecimal("52"), 4, RoundingMode.HALF_UP)
-                .divide(new BigDecimal("40"), 2, RoundingMode.HALF_UP);
-    }
-
     /**
      * Marks a processed payroll record as fully paid.
      *
@@ -0,0 +1,167 @@
+package com.example.hrms.services;
+
+import com.example.hrms.config.RefreshTokenPurgeProperties;
+import com.example.hrms.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes expired and revoked refresh tokens in the background.
+ * <p>
+ * Rows are deleted {@code security.refresh-token-purge.batch-size} at a time, each batch in its
+ * own transaction with a short pause in between, so a large backlog never holds locks on
+ * {@code refresh_tokens} for long. Deleted counts come straight from the update counts.
+ * </p>
+ * <p>
+ * Metrics: {@code auth.refresh.purge.duration} (time per run), {@code auth.refresh.purged}
+ * (rows deleted, tagged by reason) and {@code auth.refresh.purge.backlog} (rows still waiting
+ * after the last run), all under {@code /actuator/metrics}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenPurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer duration;
+    private final Counter purgedExpired;
+    private final Counter purgedRevoked;
+    private final AtomicLong backlog = new AtomicLong();
+    // Not synchronized: a run waits on JDBC and sleeps between batches
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                RefreshTokenPurgeProperties properties,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duration = Timer.builder("auth.refresh.purge.duration")
+                .description("Time taken by a refresh token purge run")
+                .register(meterRegistry);
+        this.purgedExpired = purgedCounter(meterRegistry, "expired");
+        this.purgedRevoked = purgedCounter(meterRegistry, "revoked");
+        Gauge.builder("auth.refresh.purge.backlog", backlog, AtomicLong::get)
+                .description("Expired or revoked refresh tokens left after the last purge run")
+                .register(meterRegistry);
+
+        if (properties.isEnabled()) {
+            long interval = properties.getInterval().toMillis();
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("refresh-token-purge").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::runQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Deletes every expired and revoked token, then records the remaining backlog. Does nothing
+     * if a run is already in progress.
+     */
+    public void purge() {
+        if (!runLock.tryLock()) {
+            log.debug("Refresh token purge already running");
+            return;
+        }
+        try {
+            duration.record(() -> {
+                int expired = purgeExpired();
+                int revoked = purgeRevoked();
+                backlog.set(refreshTokenRepository.countPurgeableTokens(LocalDateTime.now()));
+                log.info("Purged {} expired and {} revoked refresh tokens ({} left)",
+                        expired, revoked, backlog.get());
+            });
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes tokens that expired before now.
+     *
+     * @return the number of tokens deleted
+     */
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return deleteInBatches(() -> refreshTokenRepository.deleteExpiredBatch(now, batchSize()), purgedExpired);
+    }
+
+    /**
+     * Deletes revoked tokens, except rotated ones: those are kept until they expire so that a
+     * replayed token is recognised as reused rather than unknown.
+     *
+     * @return the number of tokens deleted
+     */
+    public int purgeRevoked() {
+        return deleteInBatches(() -> refreshTokenRepository.deleteRevokedBatch(batchSize()), purgedRevoked);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private int deleteInBatches(IntSupplier deleteBatch, Counter purged) {
+        int batchSize = batchSize();
+        int total = 0;
+
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            purged.increment(count);
+
+            if (count < batchSize) {
+                return total;
+            }
+            try {
+                Thread.sleep(properties.getBatchPause());
+            } catch (InterruptedException e) {
+                // Shutting down; the rest is picked up by the next run
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+
+    private void runQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Refresh token purge failed: {}", e.getMessage());
+        }
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.refresh.purged")
+                .description("Refresh tokens deleted by the purge job")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.hrms.services;
 
 import com.example.hrms.config.JwtTokenProvider;
+import com.example.hrms.config.SessionProperties;
+import com.example.hrms.exceptions.BadRequestException;
 import com.example.hrms.exceptions.TokenRefreshException;
 import com.example.hrms.models.Employee;
 import com.example.hrms.models.RefreshToken;
+import com.example.hrms.models.Role;
 import com.example.hrms.repositories.EmployeeRepository;
 import com.example.hrms.repositories.RefreshTokenRepository;
+import com.example.hrms.repositories.RotatedRefreshToken;
+import com.example.hrms.security.RefreshTokenGuard;
+import com.example.hrms.security.RefreshTokenHashes;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +30,17 @@ public class RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final EmployeeRepository employeeRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenGuard refreshTokenGuard;
+    private final RefreshTokenPurgeJob refreshTokenPurgeJob;
+    private final SessionProperties sessionProperties;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Creates and stores a new refresh token for the specified employee.
-     *
+     * Only the token's hash is stored; the plain token is available from
+     * {@link RefreshToken#getToken()} on the returned instance only.
+     * If the employee then has more than {@code security.sessions.max-per-employee} active
+     * tokens, the oldest are revoked.
      *
      * @param employeeId the ID of the employee for whom the token will be created
      * @return the newly created {@link RefreshToken}
@@ -41,33 +55,64 @@ public class RefreshTokenService {
                 .orElseThrow(()->new IllegalArgumentException("Employee not found") );
 
         //generate token
-        String tokenString = UUID.randomUUID().toString();
+        String tokenString = RefreshTokenHashes.generate();
+        byte[] tokenHash = RefreshTokenHashes.hash(tokenString);
 
         Long expirationMs = jwtTokenProvider.getRefreshTokenExpirationInSeconds() * 1000;
         LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(expirationMs / 1000);
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .employee(employee)
-                .token(tokenString)
+                .tokenHash(tokenHash)
                 .expiryDate(expiryDate)
                 .revoked(false)
                 .build();
 
         RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        saved.setToken(tokenString);
+        refreshTokenGuard.issued(tokenHash);
         log.info("Refresh token created for employee: {}", employee.getUsername());
 
+        evictOldestSessions(employeeId);
+
         return saved;
     }
 
     /**
-     * Retrieves a refresh token entity by its token string.
+     * Retrieves a refresh token entity, with its employee, by its token string.
+     *
+     * <p>With the refresh token filter enabled, tokens that were never issued or are known to be
+     * revoked are turned away by {@link RefreshTokenGuard} before a connection is taken, which is
+     * why this method is not transactional; the lookup itself runs in the repository's read-only
+     * transaction.</p>
      *
      * @param token the token value to search for
      * @return an {@link Optional} containing the refresh token if found
+     *
+     * @throws TokenRefreshException if the token is known to be revoked
      */
-    @Transactional(readOnly = true)
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        byte[] tokenHash = RefreshTokenHashes.hash(token);
+
+        if (refreshTokenGuard.isRevoked(tokenHash)) {
+            throw new TokenRefreshException(token,
+                    "Refresh token has been revoked. Please login again");
+        }
+        if (!refreshTokenGuard.mightExist(tokenHash)) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findByTokenHash(tokenHash);
+    }
+
+    /**
+     * Lists an employee's active sessions (valid refresh tokens), newest first.
+     *
+     * @param employeeId the employee ID
+     * @return the active refresh tokens
+     */
+    @Transactional(readOnly = true)
+    public List<RefreshToken> findActiveSessions(Long employeeId) {
+        return refreshTokenRepository.findValidTokensByEmployeeId(employeeId, LocalDateTime.now());
     }
 
     /**
@@ -101,11 +146,12 @@ public class RefreshTokenService {
     public void revokeToken(String token) {
         log.debug("Revoking refresh token");
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(RefreshTokenHashes.hash(token))
                 .orElseThrow(() -> new TokenRefreshException(token, "Refresh token not found"));
 
         refreshToken.revoke();
         refreshTokenRepository.save(refreshToken);
+        refreshTokenGuard.revoked(refreshToken.getTokenHash(), refreshToken.getExpiryDate());
 
         log.info("Refresh token revoked for employee: {}",
                 refreshToken.getEmployee().getUsername());
@@ -119,24 +165,25 @@ public class RefreshTokenService {
     public void revokeAllTokensForEmployee(Long employeeId) {
         log.debug("Revoking all tokens for employee ID: {}", employeeId);
 
-        refreshTokenRepository.revokeAllTokensByEmployeeId(employeeId);
+        List<RefreshToken> validTokens = refreshTokenRepository.findValidTokensByEmployeeId(
+                employeeId, LocalDateTime.now());
+        int revoked = refreshTokenRepository.revokeAllTokensByEmployeeId(employeeId);
+        validTokens.forEach(token -> refreshTokenGuard.revoked(token.getTokenHash(), token.getExpiryDate()));
 
-        log.info("All refresh tokens revoked for employee ID: {}", employeeId);
+        log.info("{} refresh tokens revoked for employee ID: {}", revoked, employeeId);
     }
     /**
      * Deletes all refresh tokens that are expired as of the current timestamp.
      *
+     * <p>Runs in batches, each in its own transaction (see {@link RefreshTokenPurgeJob}), so it
+     * must not be called inside a transaction.</p>
+     *
      * @return the number of tokens deleted
      */
-    @Transactional
     public int deleteExpiredTokens() {
         log.debug("Deleting expired refresh tokens");
 
-        int countBefore = (int) refreshTokenRepository.count();
-        refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        int countAfter = (int) refreshTokenRepository.count();
-
-        int deleted = countBefore - countAfter;
+        int deleted = refreshTokenPurgeJob.purgeExpired();
         log.info("Deleted {} expired refresh tokens", deleted);
 
         return deleted;
@@ -144,17 +191,15 @@ public class RefreshTokenService {
     /**
      * Deletes all refresh tokens that were previously revoked.
      *
+     * <p>Runs in batches, each in its own transaction (see {@link RefreshTokenPurgeJob}), so it
+     * must not be called inside a transaction.</p>
+     *
      * @return the number of revoked tokens removed
      */
-    @Transactional
     public int deleteRevokedTokens() {
         log.debug("Deleting revoked refresh tokens");
 
-        int countBefore = (int) refreshTokenRepository.count();
-        refreshTokenRepository.deleteRevokedTokens();
-        int countAfter = (int) refreshTokenRepository.count();
-
-        int deleted = countBefore - countAfter;
+        int deleted = refreshTokenPurgeJob.purgeRevoked();
         log.info("Deleted {} revoked refresh tokens", deleted);
 
         return deleted;
@@ -172,40 +217,116 @@ public class RefreshTokenService {
                 employeeId, LocalDateTime.now());
     }
     /**
-     * Rotates an existing refresh token by:
-     * <ol>
-     *     <li>Validating the old token</li>
-     *     <li>Revoking the old token</li>
-     *     <li>Creating a new refresh token</li>
-     * </ol>
+     * Exchanges a refresh token for a new one.
      *
-     * <p>Used for implementing refresh token rotation for improved security.</p>
+     * <p>The old token is revoked by one conditional UPDATE that also returns its owner, and the
+     * new token takes one INSERT; the employee row is never loaded. Unknown tokens are rejected
+     * in memory by {@link RefreshTokenGuard}. A token that was already rotated must have been
+     * copied, so presenting it again revokes every session of its owner.</p>
+     *
+     * <p>Not transactional itself: the revocations after a detected reuse have to commit even
+     * though the rotation is refused.</p>
      *
      * @param oldToken the token to rotate
-     * @return the newly generated refresh token
+     * @return the new token and its owner
      *
-     * @throws TokenRefreshException if the old token is invalid
+     * @throws BadRequestException if the token does not exist
+     * @throws TokenRefreshException if the token is expired, revoked, or was already rotated
      */
-    @Transactional
-    public RefreshToken rotateRefreshToken(String oldToken) {
+    public Rotation rotateRefreshToken(String oldToken) {
         log.debug("Rotating refresh token");
 
-        RefreshToken oldRefreshToken = refreshTokenRepository.findByToken(oldToken)
-                .orElseThrow(() -> new TokenRefreshException(oldToken, "Refresh token not found"));
+        byte[] oldHash = RefreshTokenHashes.hash(oldToken);
+
+        Rotation rotation = null;
+        if (!refreshTokenGuard.isRevoked(oldHash)) {
+            if (!refreshTokenGuard.mightExist(oldHash)) {
+                throw new BadRequestException("Refresh token not found");
+            }
+            rotation = transactionTemplate.execute(status -> rotate(oldHash));
+        }
+        if (rotation == null) {
+            throw rejectRotation(oldToken, oldHash);
+        }
+
+        log.info("Refresh token rotated for employee: {}", rotation.username());
+
+        return rotation;
+    }
+
+    /**
+     * A rotated refresh token and the employee it belongs to.
+     */
+    public record Rotation(String refreshToken, String username, Role role) {
+    }
+
+    // Null if the token was not valid; rejectRotation works out why
+    private Rotation rotate(byte[] oldHash) {
+        LocalDateTime now = LocalDateTime.now();
+        RotatedRefreshToken old = refreshTokenRepository.revokeForRotation(oldHash, now).orElse(null);
+        if (old == null) {
+            return null;
+        }
+
+        String tokenString = RefreshTokenHashes.generate();
+        byte[] tokenHash = RefreshTokenHashes.hash(tokenString);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .employee(employeeRepository.getReferenceById(old.employeeId()))
+                .tokenHash(tokenHash)
+                .expiryDate(now.plusSeconds(jwtTokenProvider.getRefreshTokenExpirationInSeconds()))
+                .revoked(false)
+                .build());
+
+        refreshTokenGuard.revoked(oldHash, old.expiryDate());
+        refreshTokenGuard.issued(tokenHash);
 
-        // Verify old token is valid
-        verifyExpiration(oldRefreshToken);
+        return new Rotation(tokenString, old.username(), old.role());
+    }
 
-        // Revoke old token
-        oldRefreshToken.revoke();
-        refreshTokenRepository.save(oldRefreshToken);
+    private RuntimeException rejectRotation(String oldToken, byte[] oldHash) {
+        RefreshToken existing = transactionTemplate.execute(status -> {
+            RefreshToken token = refreshTokenRepository.findByTokenHash(oldHash).orElse(null);
+            if (token != null && token.isRotated()) {
+                revokeAllTokensForEmployee(token.getEmployee().getId());
+            }
+            return token;
+        });
 
-        //Create new token
-        RefreshToken newToken = createRefreshToken(oldRefreshToken.getEmployee().getId());
+        if (existing == null) {
+            return new BadRequestException("Refresh token not found");
+        }
+        if (existing.isRotated()) {
+            log.warn("Rotated refresh token presented again; all sessions revoked for employee: {}",
+                    existing.getEmployee().getUsername());
+            return new TokenRefreshException(oldToken,
+                    "Refresh token has already been used. Please login again");
+        }
+        if (existing.getRevoked()) {
+            return new TokenRefreshException(oldToken,
+                    "Refresh token has been revoked. Please login again");
+        }
+        return new TokenRefreshException(oldToken,
+                "Refresh token has expired. Please login again");
+    }
+
+    // Revokes every active token beyond the newest max-per-employee, in one UPDATE
+    private void evictOldestSessions(Long employeeId) {
+        int cap = sessionProperties.getMaxPerEmployee();
+        if (cap <= 0) {
+            return;
+        }
+
+        List<RefreshToken> sessions = refreshTokenRepository.findValidTokensByEmployeeId(
+                employeeId, LocalDateTime.now());
+        if (sessions.size() <= cap) {
+            return;
+        }
 
-        log.info("Refresh token rotated for employee: {}",
-                oldRefreshToken.getEmployee().getUsername());
+        List<RefreshToken> evicted = sessions.subList(cap, sessions.size());
+        refreshTokenRepository.revokeTokensByIds(evicted.stream().map(RefreshToken::getId).toList());
+        evicted.forEach(token -> refreshTokenGuard.revoked(token.getTokenHash(), token.getExpiryDate()));
 
-        return newToken;
+        log.info("Revoked {} oldest sessions for employee ID: {}", evicted.size(), employeeId);
     }
 }
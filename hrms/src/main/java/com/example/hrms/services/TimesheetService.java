@@ -1,7 +1,9 @@
 package com.example.hrms.services;
 
 import com.example.hrms.dto.*;
+import com.example.hrms.events.TimesheetStatusChangedEvent;
 import com.example.hrms.exceptions.BadRequestException;
+import com.example.hrms.exceptions.PreconditionFailedException;
 import com.example.hrms.exceptions.ResourceNotFoundException;
 import com.example.hrms.mappers.PageMapper;
 import com.example.hrms.mappers.TimesheetMapper;
@@ -10,28 +12,46 @@ import com.example.hrms.models.Timesheet;
 import com.example.hrms.models.TimesheetEntry;
 import com.example.hrms.models.TimesheetStatus;
 import com.example.hrms.repositories.EmployeeRepository;
-import com.example.hrms.repositories.TimesheetEntryRepository;
 import com.example.hrms.repositories.TimesheetRepository;
+import com.example.hrms.repositories.TimesheetRepositoryCustom;
+import com.example.hrms.repositories.TimesheetReviewCandidate;
+import com.example.hrms.utils.CursorCodec;
+import com.example.hrms.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TimesheetService {
     private final TimesheetRepository timesheetRepository;
-    private final TimesheetEntryRepository timesheetEntryRepository;
     private final EmployeeRepository employeeRepository;
     private final TimesheetMapper timesheetMapper;
     private final PageMapper pageMapper;
+    private final PayrollPreviewSnapshot payrollPreviewSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves the current weekly timesheet for the employee associated with the given username.
@@ -54,7 +74,7 @@ public class TimesheetService {
         LocalDate weekStartDate = getCurrentWeekStartDate();
 
         Timesheet timesheet = timesheetRepository
-                .findByEmployeeIdAndWeekStartDate(employee.getId(), weekStartDate)
+                .findDetailedByEmployeeIdAndWeekStartDate(employee.getId(), weekStartDate)
                 .orElseGet(() -> createNewTimesheet(employee, weekStartDate));
 
         return timesheetMapper.toResponse(timesheet);
@@ -71,13 +91,36 @@ public class TimesheetService {
     public TimesheetResponse getTimesheetById(Long timesheetId) {
         log.debug("Fetching timesheet by ID: {}", timesheetId);
 
-        Timesheet timesheet = timesheetRepository.findById(timesheetId)
+        Timesheet timesheet = timesheetRepository.findDetailedById(timesheetId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Timesheet not found with ID: " + timesheetId));
 
         return timesheetMapper.toResponse(timesheet);
     }
 
+    /**
+     * Looks up only the version of a timesheet, for answering conditional requests.
+     *
+     * @param timesheetId the ID of the timesheet
+     * @return the version, or empty if the timesheet does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findTimesheetVersion(Long timesheetId) {
+        return timesheetRepository.findVersionById(timesheetId);
+    }
+
+    /**
+     * Looks up only the version of a direct report's timesheet, for answering conditional requests.
+     *
+     * @param timesheetId the ID of the timesheet
+     * @param managerId   the manager's employee ID
+     * @return the version, or empty if the timesheet does not exist or is not a direct report's
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findTimesheetVersionForManager(Long timesheetId, Long managerId) {
+        return timesheetRepository.findVersionByIdAndManagerId(timesheetId, managerId);
+    }
+
     /**
      * Retrieves all timesheets belonging to the specified employee.
      *
@@ -93,56 +136,59 @@ public class TimesheetService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         List<Timesheet> timesheets = timesheetRepository
-                .findByEmployeeIdOrderByWeekStartDateDesc(employee.getId());
+                .findDetailedByEmployeeIdOrderByWeekStartDateDesc(employee.getId());
 
         return timesheetMapper.toResponseList(timesheets);
     }
 
     /**
      * Updates the entries of an existing timesheet.
+     * <p>
+     * Entries are matched to existing ones by work date: new days are inserted, changed days
+     * updated in place and days missing from the request deleted. Unchanged days are not
+     * written at all, and the total is recalculated once.
+     * </p>
      *
-     * @param timesheetId the ID of the timesheet to update
-     * @param request     the new timesheet details
+     * @param timesheetId     the ID of the timesheet to update
+     * @param username        the username of the employee editing the timesheet
+     * @param request         the new timesheet details
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to skip the check
      * @return the updated {@link TimesheetResponse}
-     * @throws ResourceNotFoundException if the timesheet does not exist
-     * @throws BadRequestException       if the timesheet cannot be edited or contains invalid entries
+     * @throws ResourceNotFoundException   if the timesheet does not exist
+     * @throws BadRequestException         if the user is not the owner, the timesheet cannot be edited or
+     *                                     it contains invalid entries
+     * @throws PreconditionFailedException if the timesheet has changed since {@code expectedVersion}
      */
     @Transactional
-    public TimesheetResponse updateTimesheet(Long timesheetId, UpdateTimesheetRequest request) {
-        log.info("Updating timesheet ID: {}", timesheetId);
+    public TimesheetResponse updateTimesheet(Long timesheetId, String username, UpdateTimesheetRequest request,
+                                             Long expectedVersion) {
+        log.info("Updating timesheet ID: {} by user: {}", timesheetId, username);
 
-        Timesheet timesheet = timesheetRepository.findById(timesheetId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Timesheet not found with ID: " + timesheetId));
+        Timesheet timesheet = findEditableTimesheet(timesheetId, username, expectedVersion);
 
-        // Check if timesheet can be edited
-        if (!timesheet.getStatus().canBeEdited()) {
-            throw new BadRequestException(
-                    "Timesheet cannot be edited. Status: " + timesheet.getStatus());
-        }
+        Map<LocalDate, TimesheetEntry> remaining = new HashMap<>();
+        timesheet.getEntries().forEach(entry -> remaining.put(entry.getWorkDate(), entry));
 
-        // Clear existing entries
-        timesheetEntryRepository.deleteByTimesheetId(timesheetId);
-        timesheet.getEntries().clear();
-
-        // Add new entries
-        request.getEntries().forEach(entryRequest -> {
-            // Validate work date is within timesheet week
-            if (entryRequest.getWorkDate().isBefore(timesheet.getWeekStartDate()) ||
-                    entryRequest.getWorkDate().isAfter(timesheet.getWeekEndDate())) {
-                throw new BadRequestException(
-                        "Work date must be within timesheet week: " +
-                                timesheet.getWeekStartDate() + " to " + timesheet.getWeekEndDate());
+        Set<LocalDate> seen = new HashSet<>();
+        boolean changed = false;
+        for (UpdateTimesheetRequest.TimesheetEntryRequest entryRequest : request.getEntries()) {
+            if (!seen.add(entryRequest.getWorkDate())) {
+                throw new BadRequestException("Duplicate entry for work date: " + entryRequest.getWorkDate());
             }
+            changed |= mergeEntry(timesheet, remaining.remove(entryRequest.getWorkDate()), entryRequest);
+        }
 
-            TimesheetEntry entry = timesheetMapper.toEntryEntity(entryRequest);
-            timesheet.addEntry(entry);
-        });
+        // Days left over were dropped from the request; orphan removal deletes them
+        remaining.values().forEach(timesheet::removeEntry);
+        changed |= !remaining.isEmpty();
 
-        // Calculate total hours
+        if (changed) {
+            timesheet.markEntriesChanged();
+        }
         timesheet.calculateTotalHours();
 
-        Timesheet saved = timesheetRepository.save(timesheet);
+        // Flushed so the response carries the incremented version
+        Timesheet saved = timesheetRepository.saveAndFlush(timesheet);
 
         log.info("Timesheet updated successfully. ID: {}, Total hours: {}",
                 saved.getId(), saved.getTotalHours());
@@ -150,23 +196,130 @@ public class TimesheetService {
         return timesheetMapper.toResponse(saved);
     }
 
+    /**
+     * Sets the hours and description for one day of a timesheet, leaving the other days alone.
+     * Zero hours removes the day.
+     *
+     * @param timesheetId     the ID of the timesheet to update
+     * @param username        the username of the employee editing the timesheet
+     * @param workDate        the day to change
+     * @param request         the day's hours and description
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to skip the check
+     * @return the updated {@link TimesheetResponse}
+     * @throws ResourceNotFoundException   if the timesheet does not exist
+     * @throws BadRequestException         if the user is not the owner, the timesheet cannot be edited or
+     *                                     the date is outside its week
+     * @throws PreconditionFailedException if the timesheet has changed since {@code expectedVersion}
+     */
+    @Transactional
+    public TimesheetResponse updateTimesheetEntry(Long timesheetId, String username, LocalDate workDate,
+                                                  UpdateTimesheetEntryRequest request, Long expectedVersion) {
+        log.info("Updating {} on timesheet ID: {} by user: {}", workDate, timesheetId, username);
+
+        Timesheet timesheet = findEditableTimesheet(timesheetId, username, expectedVersion);
+
+        TimesheetEntry existing = timesheet.getEntries().stream()
+                .filter(entry -> entry.getWorkDate().equals(workDate))
+                .findFirst()
+                .orElse(null);
+
+        boolean changed;
+        if (request.getHoursWorked().signum() == 0) {
+            validateWorkDate(timesheet, workDate);
+            changed = existing != null;
+            if (existing != null) {
+                timesheet.removeEntry(existing);
+            }
+        } else {
+            changed = mergeEntry(timesheet, existing, UpdateTimesheetRequest.TimesheetEntryRequest.builder()
+                    .workDate(workDate)
+                    .hoursWorked(request.getHoursWorked())
+                    .description(request.getDescription())
+                    .build());
+        }
+
+        if (changed) {
+            timesheet.markEntriesChanged();
+        }
+        timesheet.calculateTotalHours();
+
+        Timesheet saved = timesheetRepository.saveAndFlush(timesheet);
+
+        log.info("Timesheet entry updated. ID: {}, Date: {}, Total hours: {}",
+                saved.getId(), workDate, saved.getTotalHours());
+
+        return timesheetMapper.toResponse(saved);
+    }
+
+    private Timesheet findEditableTimesheet(Long timesheetId, String username, Long expectedVersion) {
+        Timesheet timesheet = timesheetRepository.findDetailedById(timesheetId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Timesheet not found with ID: " + timesheetId));
+
+        // Verify ownership
+        if (!timesheet.getEmployee().getUsername().equals(username)) {
+            throw new BadRequestException("You can only edit your own timesheets");
+        }
+
+        ETags.checkVersion(expectedVersion, timesheet.getVersion());
+
+        // Check if timesheet can be edited
+        if (!timesheet.getStatus().canBeEdited()) {
+            throw new BadRequestException(
+                    "Timesheet cannot be edited. Status: " + timesheet.getStatus());
+        }
+
+        return timesheet;
+    }
+
+    // Inserts the day, or updates the existing entry only if something changed; returns whether it did either
+    private boolean mergeEntry(Timesheet timesheet, TimesheetEntry existing,
+                               UpdateTimesheetRequest.TimesheetEntryRequest entryRequest) {
+        validateWorkDate(timesheet, entryRequest.getWorkDate());
+
+        if (existing == null) {
+            timesheet.addEntry(timesheetMapper.toEntryEntity(entryRequest));
+            return true;
+        }
+        if (existing.getHoursWorked().compareTo(entryRequest.getHoursWorked()) != 0 ||
+                !Objects.equals(existing.getDescription(), entryRequest.getDescription())) {
+            timesheetMapper.updateEntryFromRequest(existing, entryRequest);
+            return true;
+        }
+        return false;
+    }
+
+    private void validateWorkDate(Timesheet timesheet, LocalDate workDate) {
+        // Validate work date is within timesheet week
+        if (workDate.isBefore(timesheet.getWeekStartDate()) ||
+                workDate.isAfter(timesheet.getWeekEndDate())) {
+            throw new BadRequestException(
+                    "Work date must be within timesheet week: " +
+                            timesheet.getWeekStartDate() + " to " + timesheet.getWeekEndDate());
+        }
+    }
+
     /**
      * Submits a timesheet for manager approval.
      *
-     * @param timesheetId the ID of the timesheet being submitted
-     * @param username    the username of the employee submitting the timesheet
+     * @param timesheetId     the ID of the timesheet being submitted
+     * @param username        the username of the employee submitting the timesheet
+     * @param expectedVersion version the client last saw (from {@code If-Match}), or {@code null} to skip the check
      * @return a {@link MessageResponse} confirming submission
-     * @throws ResourceNotFoundException if the timesheet or employee is not found
-     * @throws BadRequestException       if the user is not the owner or the timesheet cannot be submitted
+     * @throws ResourceNotFoundException   if the timesheet or employee is not found
+     * @throws BadRequestException         if the user is not the owner or the timesheet cannot be submitted
+     * @throws PreconditionFailedException if the timesheet has changed since {@code expectedVersion}
      */
     @Transactional
-    public MessageResponse submitTimesheet(Long timesheetId, String username) {
+    public MessageResponse submitTimesheet(Long timesheetId, String username, Long expectedVersion) {
         log.info("Submitting timesheet ID: {} by user: {}", timesheetId, username);
 
         Timesheet timesheet = timesheetRepository.findById(timesheetId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Timesheet not found with ID: " + timesheetId));
 
+        ETags.checkVersion(expectedVersion, timesheet.getVersion());
+
         // Verify ownership
         if (!timesheet.getEmployee().getUsername().equals(username)) {
             throw new BadRequestException("You can only submit your own timesheets");
@@ -185,6 +338,8 @@ public class TimesheetService {
 
         timesheet.submit();
         timesheetRepository.save(timesheet);
+        Employee manager = timesheet.getEmployee().getManager();
+        publishStatusChanged(timesheet, manager != null ? manager.getId() : null);
 
         log.info("Timesheet submitted successfully. ID: {}", timesheetId);
 
@@ -205,10 +360,97 @@ public class TimesheetService {
             Long managerId, TimesheetStatus status, Pageable pageable) {
         log.debug("Fetching timesheets for manager ID: {} with status: {}", managerId, status);
 
-        Page<Timesheet> timesheetPage = timesheetRepository
-                .findTimesheetsByManagerIdAndStatus(managerId, status, pageable);
+        // Rows come back as DTOs, so there is nothing to map or dirty-check
+        Page<TimesheetListResponse> timesheetPage = timesheetRepository
+                .findTimesheetQueueByManagerIdAndStatus(managerId, status, pageable);
+
+        return pageMapper.toPageResponse(timesheetPage);
+    }
+
+    /**
+     * Retrieves a page of timesheets for everyone below a manager, including the reports of
+     * their reports, together with the number of timesheets pending review in that subtree.
+     * Both come from a single statement.
+     *
+     * @param managerId the manager’s employee ID
+     * @param status    the desired timesheet status filter
+     * @param pageable  page number and size; rows are ordered by submission time and then id
+     * @return a {@link TeamTimesheetsResponse}
+     * @throws BadRequestException if the status is DRAFT
+     */
+    @Transactional(readOnly = true)
+    public TeamTimesheetsResponse getSubtreeTimesheets(Long managerId, TimesheetStatus status, Pageable pageable) {
+        log.debug("Fetching subtree timesheets for manager ID: {} with status: {}", managerId, status);
+
+        if (status == TimesheetStatus.DRAFT) {
+            throw new BadRequestException("Draft timesheets are not visible to managers");
+        }
+
+        TimesheetRepositoryCustom.SubtreeTimesheetPage result =
+                timesheetRepository.findSubtreeTimesheets(managerId, status, pageable);
+
+        return TeamTimesheetsResponse.builder()
+                .timesheets(pageMapper.toPageResponse(result.timesheets()))
+                .pendingCount(result.pendingCount())
+                .build();
+    }
+
+    /**
+     * Retrieves a manager's timesheet queue with keyset (cursor) pagination,
+     * ordered by submission time and then id.
+     * <p>
+     * Each page continues after the previous page's last row, so deep pages cost the same
+     * as the first and no COUNT runs unless {@code includeTotal} is set.
+     * </p>
+     *
+     * @param managerId the manager’s employee ID
+     * @param status    the desired timesheet status filter
+     * @param request   cursor, page size and whether to count
+     * @return a cursor-mode {@link PageResponse} of {@link TimesheetListResponse}
+     * @throws BadRequestException if the status has no submission time or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<TimesheetListResponse> scrollTimesheetsForManager(
+            Long managerId, TimesheetStatus status, CursorPageRequest request) {
+        log.debug("Scrolling timesheets for manager ID: {} with status: {}", managerId, status);
+
+        // Drafts have no submittedAt, so (submittedAt, id) is not a usable keyset for them
+        if (status == TimesheetStatus.DRAFT) {
+            throw new BadRequestException("Cursor pagination is not available for draft timesheets");
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        Pageable limit = PageRequest.of(0, request.getSize() + 1);
+        List<TimesheetListResponse> rows;
+
+        if (request.getCursor() == null) {
+            rows = timesheetRepository.findTimesheetQueueFirstPage(managerId, status, limit);
+        } else {
+            Map<String, Object> keys = CursorCodec.decode(request.getCursor());
+            if (!(keys.get("submittedAt") instanceof LocalDateTime afterSubmittedAt)
+                    || !(keys.get("id") instanceof Long afterId)) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            rows = timesheetRepository.findTimesheetQueueAfter(
+                    managerId, status, afterSubmittedAt, afterId, limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > request.getSize()) {
+            rows = rows.subList(0, request.getSize());
+            TimesheetListResponse lastRow = rows.get(rows.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("submittedAt", lastRow.getSubmittedAt());
+            keys.put("id", lastRow.getId());
+            nextCursor = CursorCodec.encode(keys);
+        }
+
+        Long total = request.isIncludeTotal()
+                ? timesheetRepository.countByEmployeeManagerIdAndStatus(managerId, status)
+                : null;
 
-        return pageMapper.toPageResponse(timesheetPage, timesheetMapper::toListResponse);
+        return pageMapper.toCursorPageResponse(rows, request.getSize(),
+                request.getCursor() == null, nextCursor, total);
     }
 
     /**
@@ -224,7 +466,7 @@ public class TimesheetService {
     public TimesheetResponse getTimesheetByIdForManager(Long timesheetId, Long managerId) {
         log.debug("Fetching timesheet ID: {} for manager ID: {}", timesheetId, managerId);
 
-        Timesheet timesheet = timesheetRepository.findById(timesheetId)
+        Timesheet timesheet = timesheetRepository.findDetailedById(timesheetId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Timesheet not found with ID: " + timesheetId));
 
@@ -254,18 +496,22 @@ public class TimesheetService {
      *
      * @param timesheetId      the ID of the timesheet being approved
      * @param reviewerUsername the username of the manager reviewing the timesheet
+     * @param expectedVersion  version the manager last saw (from {@code If-Match}), or {@code null} to skip the check
      * @return a {@link MessageResponse} confirming approval
-     * @throws ResourceNotFoundException if the timesheet or reviewer does not exist
-     * @throws BadRequestException       if the user is not the manager or the timesheet cannot be reviewed
+     * @throws ResourceNotFoundException   if the timesheet or reviewer does not exist
+     * @throws BadRequestException         if the user is not the manager or the timesheet cannot be reviewed
+     * @throws PreconditionFailedException if the timesheet has changed since {@code expectedVersion}
      */
     @Transactional
-    public MessageResponse approveTimesheet(Long timesheetId, String reviewerUsername) {
+    public MessageResponse approveTimesheet(Long timesheetId, String reviewerUsername, Long expectedVersion) {
         log.info("Approving timesheet ID: {} by reviewer: {}", timesheetId, reviewerUsername);
 
         Timesheet timesheet = timesheetRepository.findById(timesheetId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Timesheet not found with ID: " + timesheetId));
 
+        ETags.checkVersion(expectedVersion, timesheet.getVersion());
+
         Employee reviewer = employeeRepository.findByUsername(reviewerUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Reviewer not found"));
 
@@ -283,6 +529,10 @@ public class TimesheetService {
 
         timesheet.approve(reviewer);
         timesheetRepository.save(timesheet);
+        publishStatusChanged(timesheet, reviewer.getId());
+
+        // Recalculate this employee's line in the payroll preview for the week
+        payrollPreviewSnapshot.invalidate(timesheet.getEmployee().getId(), timesheet.getWeekStartDate());
 
         log.info("Timesheet approved. ID: {}", timesheetId);
 
@@ -295,19 +545,23 @@ public class TimesheetService {
      * @param timesheetId      the ID of the timesheet being denied
      * @param reviewerUsername the username of the manager denying the timesheet
      * @param request          contains the denial reason
+     * @param expectedVersion  version the manager last saw (from {@code If-Match}), or {@code null} to skip the check
      * @return a {@link MessageResponse} confirming the denial
-     * @throws ResourceNotFoundException if the timesheet or reviewer does not exist
-     * @throws BadRequestException       if the user is not the manager or the timesheet cannot be reviewed
+     * @throws ResourceNotFoundException   if the timesheet or reviewer does not exist
+     * @throws BadRequestException         if the user is not the manager or the timesheet cannot be reviewed
+     * @throws PreconditionFailedException if the timesheet has changed since {@code expectedVersion}
      */
     @Transactional
     public MessageResponse denyTimesheet(Long timesheetId, String reviewerUsername,
-                                         DenyTimesheetRequest request) {
+                                         DenyTimesheetRequest request, Long expectedVersion) {
         log.info("Denying timesheet ID: {} by reviewer: {}", timesheetId, reviewerUsername);
 
         Timesheet timesheet = timesheetRepository.findById(timesheetId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Timesheet not found with ID: " + timesheetId));
 
+        ETags.checkVersion(expectedVersion, timesheet.getVersion());
+
         Employee reviewer = employeeRepository.findByUsername(reviewerUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Reviewer not found"));
 
@@ -325,6 +579,10 @@ public class TimesheetService {
 
         timesheet.deny(reviewer, request.getReason());
         timesheetRepository.save(timesheet);
+        publishStatusChanged(timesheet, reviewer.getId());
+
+        // Recalculate this employee's line in the payroll preview for the week
+        payrollPreviewSnapshot.invalidate(timesheet.getEmployee().getId(), timesheet.getWeekStartDate());
 
         log.info("Timesheet denied. ID: {}, Reason: {}", timesheetId, request.getReason());
 
@@ -332,8 +590,125 @@ public class TimesheetService {
     }
 
 
+    /**
+     * Approves or denies many timesheets at once.
+     * <p>
+     * Ownership and status are checked for all ids with one query, and every timesheet that
+     * passes is reviewed with one bulk UPDATE. Timesheets that fail a check are reported in the
+     * results and left unchanged; they do not stop the others. The UPDATE only touches rows that
+     * are still SUBMITTED, so a timesheet reviewed concurrently is reported as failed too.
+     * </p>
+     *
+     * @param request          timesheet ids, the decision and, for denials, the reason
+     * @param reviewerUsername the username of the manager reviewing the timesheets
+     * @return a {@link BulkReviewResponse} with one result per requested id, in request order
+     * @throws ResourceNotFoundException if the reviewer does not exist
+     * @throws BadRequestException       if a denial has no reason
+     */
+    @Transactional
+    public BulkReviewResponse reviewTimesheets(BulkReviewRequest request, String reviewerUsername) {
+        boolean approve = request.getDecision() == BulkReviewRequest.Decision.APPROVE;
+        log.info("Bulk {} of {} timesheets by reviewer: {}",
+                approve ? "approval" : "denial", request.getTimesheetIds().size(), reviewerUsername);
+
+        if (!approve && (request.getReason() == null || request.getReason().isBlank())) {
+            throw new BadRequestException("Denial reason is required");
+        }
+
+        Employee reviewer = employeeRepository.findByUsername(reviewerUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Reviewer not found"));
+
+        List<Long> requestedIds = request.getTimesheetIds().stream().distinct().toList();
+        Map<Long, TimesheetReviewCandidate> candidates = timesheetRepository.findReviewCandidates(requestedIds)
+                .stream()
+                .collect(Collectors.toMap(TimesheetReviewCandidate::getId, Function.identity()));
+
+        Map<Long, BulkReviewResponse.ItemResult> results = new LinkedHashMap<>();
+        List<Long> eligibleIds = new ArrayList<>();
+
+        for (Long id : requestedIds) {
+            TimesheetReviewCandidate candidate = candidates.get(id);
+            String failure;
+            if (candidate == null) {
+                failure = "Timesheet not found with ID: " + id;
+            } else if (!reviewer.getId().equals(candidate.getManagerId())) {
+                failure = approve ? "You can only approve timesheets of your direct reports"
+                        : "You can only deny timesheets of your direct reports";
+            } else if (!candidate.getStatus().canBeReviewed()) {
+                failure = "Timesheet cannot be reviewed. Status: " + candidate.getStatus();
+            } else {
+                eligibleIds.add(id);
+                continue;
+            }
+            results.put(id, failed(id, candidate != null ? candidate.getStatus() : null, failure));
+        }
+
+        if (!eligibleIds.isEmpty()) {
+            TimesheetStatus newStatus = approve ? TimesheetStatus.APPROVED : TimesheetStatus.DENIED;
+            // Truncated to what the database stores, so the rows can be matched on it below
+            LocalDateTime reviewedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+            int updated = timesheetRepository.reviewSubmittedTimesheets(
+                    eligibleIds, newStatus, reviewer, reviewedAt, approve ? null : request.getReason());
+
+            Set<Long> reviewedIds = updated == eligibleIds.size()
+                    ? new HashSet<>(eligibleIds)
+                    : new HashSet<>(timesheetRepository.findIdsReviewedAt(eligibleIds, reviewer, reviewedAt));
+
+            for (Long id : eligibleIds) {
+                TimesheetReviewCandidate candidate = candidates.get(id);
+                if (reviewedIds.contains(id)) {
+                    results.put(id, BulkReviewResponse.ItemResult.builder()
+                            .timesheetId(id)
+                            .success(true)
+                            .status(newStatus)
+                            .message(approve ? "Timesheet approved successfully" : "Timesheet denied successfully")
+                            .build());
+                    // Recalculate this employee's line in the payroll preview for the week
+                    payrollPreviewSnapshot.invalidate(candidate.getEmployeeId(), candidate.getWeekStartDate());
+                    eventPublisher.publishEvent(new TimesheetStatusChangedEvent(id, candidate.getEmployeeId(),
+                            candidate.getManagerId(), newStatus, candidate.getWeekStartDate()));
+                } else {
+                    results.put(id, failed(id, null, "Timesheet was reviewed by someone else"));
+                }
+            }
+        }
+
+        List<BulkReviewResponse.ItemResult> ordered = requestedIds.stream().map(results::get).toList();
+        int reviewedCount = (int) ordered.stream().filter(BulkReviewResponse.ItemResult::isSuccess).count();
+
+        log.info("Bulk review by {} finished. Reviewed: {}, Failed: {}",
+                reviewerUsername, reviewedCount, ordered.size() - reviewedCount);
+
+        return BulkReviewResponse.builder()
+                .reviewedCount(reviewedCount)
+                .failedCount(ordered.size() - reviewedCount)
+                .results(ordered)
+                .build();
+    }
+
+    // Delivered to listeners after commit
+    private void publishStatusChanged(Timesheet timesheet, Long managerId) {
+        eventPublisher.publishEvent(new TimesheetStatusChangedEvent(
+                timesheet.getId(),
+                timesheet.getEmployee().getId(),
+                managerId,
+                timesheet.getStatus(),
+                timesheet.getWeekStartDate()));
+    }
+
+    private BulkReviewResponse.ItemResult failed(Long timesheetId, TimesheetStatus status, String message) {
+        return BulkReviewResponse.ItemResult.builder()
+                .timesheetId(timesheetId)
+                .success(false)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
     /**
      * Retrieves all approved timesheets for the specified payroll week.
+     * Each timesheet's employee and pay info are fetched in the same query.
      *
      * @param weekStartDate the Monday date representing the start of the payroll week
      * @return a list of approved {@link Timesheet} objects
@@ -342,7 +717,7 @@ public class TimesheetService {
     public List<Timesheet> getApprovedTimesheetsForWeek(LocalDate weekStartDate) {
         log.debug("Fetching approved timesheets for week starting: {}", weekStartDate);
 
-        return timesheetRepository.findApprovedTimesheetsByWeek(weekStartDate);
+        return timesheetRepository.findApprovedTimesheetsWithPayInfoByWeek(weekStartDate);
     }
 
 
@@ -0,0 +1,90 @@
+package com.example.hrms.utils;
+
+import com.example.hrms.exceptions.BadRequestException;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset pagination positions (sort property -> last seen value) as opaque,
+ * URL-safe continuation tokens.
+ */
+public class CursorCodec {
+
+    private static final String ENTRY_SEPARATOR = "\n";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private CursorCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encode keyset values. Supported value types: String, Long, Integer, LocalDate, LocalDateTime.
+     */
+    public static String encode(Map<String, ?> keys) {
+        StringBuilder sb = new StringBuilder();
+        keys.forEach((property, value) -> {
+            if (!sb.isEmpty()) {
+                sb.append(ENTRY_SEPARATOR);
+            }
+            sb.append(property)
+                    .append(FIELD_SEPARATOR).append(typeOf(value))
+                    .append(FIELD_SEPARATOR).append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode}.
+     *
+     * @throws BadRequestException if the token is malformed
+     */
+    public static Map<String, Object> decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+
+            for (String entry : decoded.split(ENTRY_SEPARATOR)) {
+                String[] parts = entry.split(FIELD_SEPARATOR, 3);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Malformed cursor entry");
+                }
+                String value = URLDecoder.decode(parts[2], StandardCharsets.UTF_8);
+                keys.put(parts[0], parse(parts[1], value));
+            }
+
+            return keys;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    private static String typeOf(Object value) {
+        if (value instanceof String) return "S";
+        if (value instanceof Long) return "L";
+        if (value instanceof Integer) return "I";
+        if (value instanceof LocalDate) return "D";
+        if (value instanceof LocalDateTime) return "T";
+        throw new IllegalArgumentException("Unsupported cursor value type: " +
+                (value == null ? "null" : value.getClass().getName()));
+    }
+
+    private static Object parse(String type, String value) {
+        return switch (type) {
+            case "S" -> value;
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "D" -> LocalDate.parse(value);
+            case "T" -> LocalDateTime.parse(value);
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.hrms.utils;
+
+import com.example.hrms.exceptions.PreconditionFailedException;
+
+/**
+ * Entity tags built from {@code @Version} columns.
+ * <p>
+ * The tag is the quoted version number. The URL already identifies the resource, so the id is
+ * not part of it. {@code If-None-Match} uses weak comparison, so {@code W/} prefixes are ignored.
+ * {@code If-Match} uses strong comparison, so a weak tag there can never match.
+ * </p>
+ */
+public final class ETags {
+
+    private ETags() {
+        // Utility class
+    }
+
+    public static String forVersion(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the version, i.e. the client's copy is current.
+     */
+    public static boolean matches(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        String current = forVersion(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or {@code null} if the header is absent or {@code *}.
+     *
+     * @throws PreconditionFailedException if the header is not a single strong tag produced by {@link #forVersion}
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+
+    /**
+     * Rejects a write when the client's expected version is no longer current.
+     *
+     * @throws PreconditionFailedException if {@code expected} is set and differs from {@code current}
+     */
+    public static void checkVersion(Long expected, Long current) {
+        if (expected != null && !expected.equals(current != null ? current : 0L)) {
+            throw new PreconditionFailedException(
+                    "The resource has been modified. Fetch it again and retry");
+        }
+    }
+}
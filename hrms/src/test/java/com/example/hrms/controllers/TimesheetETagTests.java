@@ -0,0 +1,141 @@
+package com.example.hrms.controllers;
+
+import com.example.hrms.models.*;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.TimesheetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The timesheet ETag must change whenever its entries do, including edits that leave the
+ * {@code timesheets} row itself unchanged.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimesheetETagTests {
+
+    private static final String EMPLOYEE = "etag-employee";
+    private static final LocalDate WEEK = LocalDate.of(2024, 1, 1).with(DayOfWeek.MONDAY);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    private Employee employee;
+    private Timesheet timesheet;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .employeeId("ETAG-1")
+                .username(EMPLOYEE)
+                .email(EMPLOYEE + "@example.com")
+                .password("{noop}password")
+                .firstName("ETag")
+                .lastName("Employee")
+                .hireDate(LocalDate.of(2024, 1, 1))
+                .role(Role.EMPLOYEE)
+                .build());
+
+        Timesheet draft = Timesheet.builder()
+                .employee(employee)
+                .weekStartDate(WEEK)
+                .weekEndDate(WEEK.plusDays(6))
+                .build();
+        for (int day = 0; day < 2; day++) {
+            draft.addEntry(TimesheetEntry.builder()
+                    .workDate(WEEK.plusDays(day))
+                    .hoursWorked(new BigDecimal("8.00"))
+                    .description("Development")
+                    .build());
+        }
+        draft.calculateTotalHours();
+        timesheet = timesheetRepository.save(draft);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timesheetRepository.deleteAll();
+        employeeRepository.deleteById(employee.getId());
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE, roles = "EMPLOYEE")
+    void descriptionOnlyPatchChangesETag() throws Exception {
+        String before = currentETag();
+
+        String after = mockMvc.perform(patch("/api/employee/timesheet/{id}/entries/{date}", timesheet.getId(), WEEK)
+                        .header(HttpHeaders.IF_MATCH, before)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"hoursWorked\": 8.00, \"description\": \"Code review\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(after).isNotNull().isNotEqualTo(before);
+        assertThat(currentETag()).isEqualTo(after);
+        assertStale(before);
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE, roles = "EMPLOYEE")
+    void movingHoursBetweenDaysChangesETag() throws Exception {
+        String before = currentETag();
+
+        // Same 16 hours in total, split differently
+        String after = mockMvc.perform(put("/api/employee/timesheet/{id}", timesheet.getId())
+                        .header(HttpHeaders.IF_MATCH, before)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entries\": [" +
+                                "{\"workDate\": \"" + WEEK + "\", \"hoursWorked\": 10.00, \"description\": \"Development\"}," +
+                                "{\"workDate\": \"" + WEEK.plusDays(1) + "\", \"hoursWorked\": 6.00, \"description\": \"Development\"}]}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(after).isNotNull().isNotEqualTo(before);
+        assertStale(before);
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(get("/api/employee/timesheet/{id}", timesheet.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // The old ETag neither revalidates a cached copy nor passes as If-Match
+    private void assertStale(String eTag) throws Exception {
+        mockMvc.perform(get("/api/employee/timesheet/{id}", timesheet.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/employee/timesheet/{id}/entries/{date}", timesheet.getId(), WEEK)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"hoursWorked\": 7.00}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hrms.controllers;
+
+import com.example.hrms.models.*;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.TimesheetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Employees can only edit their own timesheets.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimesheetOwnershipTests {
+
+    private static final String OWNER = "owner-employee";
+    private static final String OTHER = "other-employee";
+    private static final LocalDate WEEK = LocalDate.of(2024, 1, 1).with(DayOfWeek.MONDAY);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    private Employee owner;
+    private Employee other;
+    private Timesheet timesheet;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveEmployee(OWNER);
+        other = saveEmployee(OTHER);
+
+        Timesheet draft = Timesheet.builder()
+                .employee(owner)
+                .weekStartDate(WEEK)
+                .weekEndDate(WEEK.plusDays(6))
+                .build();
+        draft.addEntry(TimesheetEntry.builder()
+                .workDate(WEEK)
+                .hoursWorked(new BigDecimal("8.00"))
+                .build());
+        draft.calculateTotalHours();
+        timesheet = timesheetRepository.save(draft);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timesheetRepository.deleteAll();
+        employeeRepository.deleteById(owner.getId());
+        employeeRepository.deleteById(other.getId());
+    }
+
+    @Test
+    @WithMockUser(username = OTHER, roles = "EMPLOYEE")
+    void otherEmployeeCannotPatchEntry() throws Exception {
+        mockMvc.perform(patch("/api/employee/timesheet/{id}/entries/{date}", timesheet.getId(), WEEK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"hoursWorked\": 1.00}"))
+                .andExpect(status().isBadRequest());
+
+        assertUnchanged();
+    }
+
+    @Test
+    @WithMockUser(username = OTHER, roles = "EMPLOYEE")
+    void otherEmployeeCannotReplaceEntries() throws Exception {
+        mockMvc.perform(put("/api/employee/timesheet/{id}", timesheet.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entries\": [{\"workDate\": \"" + WEEK + "\", \"hoursWorked\": 1.00}]}"))
+                .andExpect(status().isBadRequest());
+
+        assertUnchanged();
+    }
+
+    private void assertUnchanged() {
+        assertThat(timesheetRepository.findById(timesheet.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getVersion()).isEqualTo(timesheet.getVersion()));
+    }
+
+    private Employee saveEmployee(String username) {
+        return employeeRepository.save(Employee.builder()
+                .employeeId("OWN-" + username)
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}password")
+                .firstName("Owner")
+                .lastName(username)
+                .hireDate(LocalDate.of(2024, 1, 1))
+                .role(Role.EMPLOYEE)
+                .build());
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.hrms.controllers;
+
+import com.example.hrms.models.*;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.TimesheetRepository;
+import com.example.hrms.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the timesheet read paths against N+1 queries: the number of statements a request
+ * issues must not grow with the number of rows it returns.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TimesheetQueryCountTests {
+
+    private static final String MANAGER = "qc-manager";
+    private static final String EMPLOYEE = "qc-employee";
+    private static final LocalDate FIRST_WEEK = LocalDate.of(2024, 1, 1).with(DayOfWeek.MONDAY);
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final List<Employee> created = new ArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+    private Employee manager;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        manager = saveEmployee(MANAGER, Role.MANAGER, null);
+        employee = saveEmployee(EMPLOYEE, Role.EMPLOYEE, manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timesheetRepository.deleteAll();
+        // Reports before their manager
+        for (int i = created.size() - 1; i >= 0; i--) {
+            employeeRepository.deleteById(created.get(i).getId());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE, roles = "EMPLOYEE")
+    void timesheetHistoryDoesNotIssueQueriesPerTimesheet() throws Exception {
+        saveReviewedTimesheet(employee, FIRST_WEEK);
+        long single = statementCounter.count(() -> mockMvc.perform(get("/api/employee/timesheet/history"))
+                .andExpect(status().isOk()));
+
+        for (int week = 1; week < 5; week++) {
+            saveReviewedTimesheet(employee, FIRST_WEEK.plusWeeks(week));
+        }
+        long many = statementCounter.count(() -> mockMvc.perform(get("/api/employee/timesheet/history"))
+                .andExpect(status().isOk()));
+
+        assertThat(many).isEqualTo(single);
+    }
+
+    @Test
+    @WithMockUser(username = EMPLOYEE, roles = "EMPLOYEE")
+    void timesheetDetailIsLoadedInOneStatement() throws Exception {
+        Timesheet timesheet = saveReviewedTimesheet(employee, FIRST_WEEK);
+
+        long statements = statementCounter.count(() ->
+                mockMvc.perform(get("/api/employee/timesheet/{id}", timesheet.getId()))
+                        .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = MANAGER, roles = "MANAGER")
+    void managerQueueDoesNotIssueQueriesPerEmployee() throws Exception {
+        saveSubmittedTimesheet(saveEmployee(null, Role.EMPLOYEE, manager));
+        long single = statementCounter.count(() -> mockMvc.perform(get("/api/manager/timesheets"))
+                .andExpect(status().isOk()));
+
+        for (int i = 0; i < 4; i++) {
+            saveSubmittedTimesheet(saveEmployee(null, Role.EMPLOYEE, manager));
+        }
+        long many = statementCounter.count(() -> mockMvc.perform(get("/api/manager/timesheets"))
+                .andExpect(status().isOk()));
+
+        assertThat(many).isEqualTo(single);
+    }
+
+    private Employee saveEmployee(String username, Role role, Employee manager) {
+        int n = sequence.incrementAndGet();
+        String name = username != null ? username : "qc-report-" + n;
+        Employee saved = employeeRepository.save(Employee.builder()
+                .employeeId("QC-" + name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("{noop}password")
+                .firstName("Query")
+                .lastName("Count " + n)
+                .hireDate(LocalDate.of(2024, 1, 1))
+                .role(role)
+                .manager(manager)
+                .build());
+        created.add(saved);
+        return saved;
+    }
+
+    private Timesheet saveReviewedTimesheet(Employee owner, LocalDate weekStartDate) {
+        Timesheet timesheet = newTimesheet(owner, weekStartDate);
+        timesheet.submit();
+        timesheet.approve(manager);
+        return timesheetRepository.save(timesheet);
+    }
+
+    private Timesheet saveSubmittedTimesheet(Employee owner) {
+        Timesheet timesheet = newTimesheet(owner, FIRST_WEEK);
+        timesheet.submit();
+        return timesheetRepository.save(timesheet);
+    }
+
+    private Timesheet newTimesheet(Employee owner, LocalDate weekStartDate) {
+        Timesheet timesheet = Timesheet.builder()
+                .employee(owner)
+                .weekStartDate(weekStartDate)
+                .weekEndDate(weekStartDate.plusDays(6))
+                .build();
+        for (int day = 0; day < 2; day++) {
+            timesheet.addEntry(TimesheetEntry.builder()
+                    .workDate(weekStartDate.plusDays(day))
+                    .hoursWorked(new BigDecimal("8.00"))
+                    .build());
+        }
+        return timesheet;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hrms.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop HTTP load shared by the load tests: a fixed number of clients on virtual threads,
+ * each sending the same request back to back, with per-request latencies recorded.
+ */
+final class LoadDriver {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final int concurrency;
+
+    LoadDriver(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    // Returns the login response body (accessToken, refreshToken, ...)
+    JsonNode login(String baseUrl, String username, String password) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                objectMapper.createObjectNode().put("username", username).put("password", password));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).as("login as %s", username).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    // Every response with a status other than expectedStatus counts as an error
+    Samples drive(HttpRequest request, int expectedStatus, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != expectedStatus) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> client : clients) {
+            perClient.add(client.get());
+        }
+        return new Samples(perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors.get());
+    }
+
+    static String table(String title, List<Result> results) {
+        StringBuilder table = new StringBuilder(String.format(
+                "%n%s%n%-9s %-26s %10s %9s %9s %7s%n",
+                title, "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "errors"));
+        for (Result result : results) {
+            table.append(String.format("%-9s %-26s %10.1f %9.1f %9.1f %7d%n",
+                    result.mode(), result.endpoint(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.errors()));
+        }
+        return table.toString();
+    }
+
+    record Samples(long[] sortedLatencies, long errors) {
+
+        Result toResult(String mode, String endpoint, Duration duration) {
+            return new Result(mode, endpoint,
+                    sortedLatencies.length / (duration.toNanos() / 1e9),
+                    percentile(0.50), percentile(0.99), errors);
+        }
+
+        private double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    record Result(String mode, String endpoint, double throughput,
+                  double p50Millis, double p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.hrms.load;
+
+import com.example.hrms.HrmsApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a burst of logins cannot starve the rest of the application, against PostgreSQL
+ * in Docker.
+ * <p>
+ * The application runs with a small connection pool and a single password hashing thread, so
+ * most logins spend their time queued for a hash. While {@code -Dload.login-concurrency}
+ * clients log in back to back, {@code -Dload.concurrency} clients call
+ * {@code /api/employee/dashboard}; every dashboard call must succeed, well within the pool's
+ * connection timeout. Logins themselves may be refused with 503. Run with
+ * {@code mvn -Pload-test test}; {@code -Dload.warmup} and {@code -Dload.duration} apply as in
+ * {@link ThreadModeLoadTests}.
+ * </p>
+ */
+@Tag("load")
+@Testcontainers
+class LoginStormLoadTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 20);
+    private static final int LOGIN_CONCURRENCY = Integer.getInteger("load.login-concurrency", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration MEASURE = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int POOL_SIZE = 5;
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(2);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final LoadDriver driver = new LoadDriver(CONCURRENCY);
+    private final LoadDriver loginDriver = new LoadDriver(LOGIN_CONCURRENCY);
+
+    @Test
+    void loginStormLeavesOtherEndpointsResponsive() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HrmsApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "--spring.datasource.username=" + POSTGRES.getUsername(),
+                        "--spring.datasource.password=" + POSTGRES.getPassword(),
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.hikari.connection-timeout=" + CONNECTION_TIMEOUT.toMillis(),
+                        "--security.password-hashing.threads=1",
+                        "--security.password-hashing.rehash-on-login=false",
+                        "--jwt.secret=load-test-secret-load-test-secret-load-test-secret-load-test-0123456789",
+                        "--jwt.access-token-expiration=3600000",
+                        "--jwt.refresh-token-expiration=3600000",
+                        "--payroll.job.resume-on-startup=false",
+                        "--logging.file.name=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.hrms=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            // User created by DataInitializer
+            String token = driver.login(baseUrl, "employee", "Employee@123").get("accessToken").asText();
+            HttpRequest dashboard = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employee/dashboard"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            String body = loginDriver.objectMapper().writeValueAsString(loginDriver.objectMapper().createObjectNode()
+                    .put("username", "employee").put("password", "Employee@123"));
+            HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            // Storm runs for warm-up and measurement; refused logins are expected, so its errors are ignored
+            CompletableFuture<LoadDriver.Samples> storm = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loginDriver.drive(login, 200, WARMUP.plus(MEASURE));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            driver.drive(dashboard, 200, WARMUP);
+            LoadDriver.Result result = driver.drive(dashboard, 200, MEASURE)
+                    .toResult("storm", "/api/employee/dashboard", MEASURE);
+            LoadDriver.Result logins = storm.get().toResult("storm", "/api/auth/login", WARMUP.plus(MEASURE));
+
+            System.out.println(LoadDriver.table(String.format(
+                    "Login storm: %d login clients, %d dashboard clients, pool of %d, %s measured",
+                    LOGIN_CONCURRENCY, CONCURRENCY, POOL_SIZE, MEASURE), List.of(logins, result)));
+
+            assertThat(result.errors()).isZero();
+            assertThat(result.p99Millis()).isLessThan(CONNECTION_TIMEOUT.toMillis());
+        }
+    }
+}
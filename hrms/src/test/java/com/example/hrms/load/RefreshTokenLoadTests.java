@@ -0,0 +1,146 @@
+package com.example.hrms.load;
+
+import com.example.hrms.HrmsApplication;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.security.RefreshTokenGuard;
+import com.example.hrms.security.RefreshTokenHashes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency of {@code POST /api/auth/refresh} with the in-memory refresh token
+ * filter ({@code security.refresh-token-filter.enabled}) off and on, against PostgreSQL in Docker.
+ * <p>
+ * Each run refreshes with a valid token, a token that was never issued and a revoked token. With
+ * the filter off every refresh is an indexed lookup by token hash; with it on, unknown and revoked
+ * tokens are answered without a query. The table is seeded with {@code -Dload.refresh-tokens}
+ * outstanding tokens so the index has a realistic size. Run with {@code mvn -Pload-test test};
+ * {@code -Dload.concurrency}, {@code -Dload.warmup} and {@code -Dload.duration} apply as in
+ * {@link ThreadModeLoadTests}.
+ * </p>
+ */
+@Tag("load")
+@Testcontainers
+class RefreshTokenLoadTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration MEASURE = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int SEEDED_TOKENS = Integer.getInteger("load.refresh-tokens", 100_000);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final LoadDriver driver = new LoadDriver(CONCURRENCY);
+
+    @Test
+    void compareRefreshWithAndWithoutFilter() throws Exception {
+        List<LoadDriver.Result> results = new ArrayList<>();
+        results.addAll(runMode(false));
+        results.addAll(runMode(true));
+
+        System.out.println(LoadDriver.table(String.format(
+                "Refresh token filter comparison: %d clients, %d stored tokens, %s warm-up, %s measured",
+                CONCURRENCY, SEEDED_TOKENS, WARMUP, MEASURE), results));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private List<LoadDriver.Result> runMode(boolean filter) throws Exception {
+        String mode = filter ? "filter" : "database";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HrmsApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "--spring.datasource.username=" + POSTGRES.getUsername(),
+                        "--spring.datasource.password=" + POSTGRES.getPassword(),
+                        "--security.refresh-token-filter.enabled=" + filter,
+                        "--jwt.secret=load-test-secret-load-test-secret-load-test-secret-load-test-0123456789",
+                        "--jwt.access-token-expiration=3600000",
+                        "--jwt.refresh-token-expiration=3600000",
+                        "--payroll.job.resume-on-startup=false",
+                        "--logging.file.name=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.hrms=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+
+            if (seedTokens(context) && filter) {
+                // Seeded after startup; load them into the filter like a restart would
+                context.getBean(RefreshTokenGuard.class).rebuild();
+            }
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            // User created by DataInitializer
+            String validToken = driver.login(baseUrl, "employee", "Employee@123").get("refreshToken").asText();
+            String revokedToken = driver.login(baseUrl, "employee", "Employee@123").get("refreshToken").asText();
+            HttpResponse<Void> logout = driver.httpClient().send(
+                    post(baseUrl + "/api/auth/logout", revokedToken), HttpResponse.BodyHandlers.discarding());
+            assertThat(logout.statusCode()).isEqualTo(200);
+
+            Map<String, String> tokens = Map.of(
+                    "valid", validToken,
+                    "unknown", RefreshTokenHashes.generate(),
+                    "revoked", revokedToken);
+            Map<String, Integer> expectedStatus = Map.of("valid", 200, "unknown", 400, "revoked", 403);
+
+            List<LoadDriver.Result> results = new ArrayList<>();
+            for (String kind : List.of("valid", "unknown", "revoked")) {
+                HttpRequest request = post(baseUrl + "/api/auth/refresh", tokens.get(kind));
+
+                driver.drive(request, expectedStatus.get(kind), WARMUP);
+                results.add(driver.drive(request, expectedStatus.get(kind), MEASURE)
+                        .toResult(mode, "refresh (" + kind + ")", MEASURE));
+            }
+            return results;
+        }
+    }
+
+    private HttpRequest post(String url, String refreshToken) throws Exception {
+        String body = driver.objectMapper().writeValueAsString(
+                driver.objectMapper().createObjectNode().put("refreshToken", refreshToken));
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Outstanding tokens for the manager, so lookups hit an index of realistic size; runs once per database
+    private boolean seedTokens(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class);
+        if (existing != null && existing >= SEEDED_TOKENS) {
+            return false;
+        }
+
+        Long managerId = context.getBean(EmployeeRepository.class).findByUsername("manager").orElseThrow().getId();
+        Timestamp expiry = Timestamp.valueOf(LocalDateTime.now().plusDays(7));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < SEEDED_TOKENS; i++) {
+            rows.add(new Object[]{managerId, RefreshTokenHashes.hash(RefreshTokenHashes.generate()), expiry});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO refresh_tokens (employee_id, token_hash, expiry_date, revoked, created_at) " +
+                        "VALUES (?, ?, ?, false, now())", rows);
+        return true;
+    }
+}
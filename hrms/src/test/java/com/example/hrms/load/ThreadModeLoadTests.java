@@ -0,0 +1,149 @@
+package com.example.hrms.load;
+
+import com.example.hrms.HrmsApplication;
+import com.example.hrms.models.*;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.TimesheetRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of request handling on platform threads and on virtual
+ * threads ({@code spring.threads.virtual.enabled}) against PostgreSQL in Docker.
+ * <p>
+ * The application is started twice against the same database, once per mode, and each run
+ * drives {@code /api/employee/dashboard} and {@code /api/manager/timesheets} with the same
+ * number of concurrent clients. Results are printed as a table. Run with
+ * {@code mvn -Pload-test test}; tune with {@code -Dload.concurrency}, {@code -Dload.warmup},
+ * {@code -Dload.duration} (ISO-8601, e.g. {@code PT30S}) and {@code -Dload.team-size}.
+ * </p>
+ */
+@Tag("load")
+@Testcontainers
+class ThreadModeLoadTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration MEASURE = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int TEAM_SIZE = Integer.getInteger("load.team-size", 50);
+
+    private static final List<String> ENDPOINTS = List.of("/api/employee/dashboard", "/api/manager/timesheets");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final LoadDriver driver = new LoadDriver(CONCURRENCY);
+
+    @Test
+    void compareRequestThreadModes() throws Exception {
+        List<LoadDriver.Result> results = new ArrayList<>();
+        results.addAll(runMode(false));
+        results.addAll(runMode(true));
+
+        System.out.println(LoadDriver.table(String.format(
+                "Thread mode comparison: %d clients, %s warm-up, %s measured", CONCURRENCY, WARMUP, MEASURE),
+                results));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private List<LoadDriver.Result> runMode(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HrmsApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                        "--spring.datasource.username=" + POSTGRES.getUsername(),
+                        "--spring.datasource.password=" + POSTGRES.getPassword(),
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--threads.pinning-diagnostics.enabled=" + virtualThreads,
+                        "--jwt.secret=load-test-secret-load-test-secret-load-test-secret-load-test-0123456789",
+                        "--jwt.access-token-expiration=3600000",
+                        "--jwt.refresh-token-expiration=3600000",
+                        "--payroll.job.resume-on-startup=false",
+                        "--logging.file.name=",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.hrms=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+
+            seedTeam(context);
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            // Users created by DataInitializer
+            String employeeToken = driver.login(baseUrl, "employee", "Employee@123").get("accessToken").asText();
+            String managerToken = driver.login(baseUrl, "manager", "Manager@123").get("accessToken").asText();
+
+            List<LoadDriver.Result> results = new ArrayList<>();
+            for (String endpoint : ENDPOINTS) {
+                String token = endpoint.startsWith("/api/manager") ? managerToken : employeeToken;
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build();
+
+                driver.drive(request, 200, WARMUP);
+                results.add(driver.drive(request, 200, MEASURE).toResult(mode, endpoint, MEASURE));
+            }
+            return results;
+        }
+    }
+
+    // Gives the manager a team with one submitted timesheet each; runs once per database
+    private void seedTeam(ConfigurableApplicationContext context) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        TimesheetRepository timesheetRepository = context.getBean(TimesheetRepository.class);
+
+        if (employeeRepository.findByUsername("load-report-0").isPresent()) {
+            return;
+        }
+
+        Employee manager = employeeRepository.findByUsername("manager").orElseThrow();
+        LocalDate weekStartDate = LocalDate.now().minusWeeks(1).with(DayOfWeek.MONDAY);
+
+        for (int i = 0; i < TEAM_SIZE; i++) {
+            Employee report = employeeRepository.save(Employee.builder()
+                    .employeeId("LOAD-" + i)
+                    .username("load-report-" + i)
+                    .email("load-report-" + i + "@example.com")
+                    .password("{noop}password")
+                    .firstName("Load")
+                    .lastName("Report " + i)
+                    .hireDate(LocalDate.of(2024, 1, 1))
+                    .role(Role.EMPLOYEE)
+                    .manager(manager)
+                    .build());
+
+            Timesheet timesheet = Timesheet.builder()
+                    .employee(report)
+                    .weekStartDate(weekStartDate)
+                    .weekEndDate(weekStartDate.plusDays(6))
+                    .build();
+            for (int day = 0; day < 5; day++) {
+                timesheet.addEntry(TimesheetEntry.builder()
+                        .workDate(weekStartDate.plusDays(day))
+                        .hoursWorked(new BigDecimal("8.00"))
+                        .build());
+            }
+            timesheet.submit();
+            timesheetRepository.save(timesheet);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hrms.services;
+
+import com.example.hrms.exceptions.TokenRefreshException;
+import com.example.hrms.models.Employee;
+import com.example.hrms.models.Role;
+import com.example.hrms.repositories.EmployeeRepository;
+import com.example.hrms.repositories.RefreshTokenRepository;
+import com.example.hrms.security.RefreshTokenHashes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reuse detection for rotated refresh tokens must outlive the purge job: a rotated token is
+ * kept until it expires, so replaying it still revokes the whole session family.
+ * <p>
+ * Rotation uses PostgreSQL's {@code UPDATE ... RETURNING}, so this runs against PostgreSQL in
+ * Docker and is skipped where Docker is not available.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=rotation-test-secret-rotation-test-secret-rotation-test-secret-0123456789",
+        "jwt.access-token-expiration=900000",
+        "jwt.refresh-token-expiration=604800000",
+        "security.sessions.rotate-refresh-tokens=true",
+        "security.refresh-token-purge.enabled=false",
+        "payroll.job.resume-on-startup=false",
+        "logging.file.name="})
+@Testcontainers(disabledWithoutDocker = true)
+class RefreshTokenRotationTests {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenPurgeJob refreshTokenPurgeJob;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeRepository.save(Employee.builder()
+                .employeeId("ROT-1")
+                .username("rotation-employee")
+                .email("rotation-employee@example.com")
+                .password("{noop}password")
+                .firstName("Rotation")
+                .lastName("Employee")
+                .hireDate(LocalDate.of(2024, 1, 1))
+                .role(Role.EMPLOYEE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        employeeRepository.deleteById(employee.getId());
+    }
+
+    @Test
+    void replayingRotatedTokenAfterPurgeRevokesAllSessions() {
+        String stolen = refreshTokenService.createRefreshToken(employee.getId()).getToken();
+        String loggedOut = refreshTokenService.createRefreshToken(employee.getId()).getToken();
+        refreshTokenService.revokeToken(loggedOut);
+
+        String current = refreshTokenService.rotateRefreshToken(stolen).refreshToken();
+
+        refreshTokenPurgeJob.purge();
+
+        // Plainly revoked tokens go; the rotated one stays until it expires
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenHashes.hash(loggedOut))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenHashes.hash(stolen))).isPresent();
+
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(stolen))
+                .isInstanceOf(TokenRefreshException.class)
+                .hasMessageContaining("already been used");
+
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenHashes.hash(current)))
+                .hasValueSatisfying(token -> assertThat(token.getRevoked()).isTrue());
+    }
+}